@@ -0,0 +1,218 @@
+package com.smartcampus.gateway.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartcampus.gateway.security.InternalClaimsSigner;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects single-id user lookups into micro-batches sent upstream as one
+ * {@code POST /users/batch}.
+ * <p>
+ * A batch opens with the first lookup for a caller and is sent when its window elapses or it
+ * reaches the maximum size, whichever comes first. Batches are per Authorization header, so
+ * upstream still authorizes every caller separately, and carry the caller's internal claims
+ * header along with it. Concurrent lookups of the same id share
+ * one slot. If the batch call fails for any reason, every waiter falls back to routing its own
+ * request, so errors surface exactly as they would without batching.
+ */
+@Component
+public class UserBatcher {
+    
+    private static final Logger log = LoggerFactory.getLogger(UserBatcher.class);
+    
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+    
+    @Autowired
+    private ObjectProvider<ReactorLoadBalancerExchangeFilterFunction> loadBalancer;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${gateway.user-batching.upstream:lb://user-service}")
+    private URI upstream;
+    
+    @Value("${gateway.user-batching.window:2ms}")
+    private Duration window;
+    
+    @Value("${gateway.user-batching.max-batch-size:100}")
+    private int maxBatchSize;
+    
+    @Value("${gateway.user-batching.timeout:2s}")
+    private Duration timeout;
+    
+    private final Map<String, Batch> open = new HashMap<>();
+    
+    private WebClient webClient;
+    private DistributionSummary batchSize;
+    private DistributionSummary fillRatio;
+    private Counter found;
+    private Counter missing;
+    private Counter fallback;
+    
+    @PostConstruct
+    void init() {
+        WebClient.Builder builder = webClientBuilder.clone();
+        if ("lb".equals(upstream.getScheme())) {
+            builder.filter(loadBalancer.getObject()).baseUrl("http://" + upstream.getHost());
+        } else {
+            builder.baseUrl(upstream.toString());
+        }
+        webClient = builder.build();
+        
+        batchSize = DistributionSummary.builder("gateway.users.batch.size")
+                .description("Distinct user ids per upstream batch request")
+                .register(meterRegistry);
+        fillRatio = DistributionSummary.builder("gateway.users.batch.fill.ratio")
+                .description("Batch size relative to the maximum batch size")
+                .register(meterRegistry);
+        found = lookups("found");
+        missing = lookups("missing");
+        fallback = lookups("fallback");
+    }
+    
+    /**
+     * Queues a lookup and completes once its batch has been answered.
+     */
+    public Mono<UserLookup> lookup(String authorization, String internalClaims, long id) {
+        return Mono.defer(() -> {
+            Sinks.One<UserLookup> result = Sinks.one();
+            String key = authorization != null ? authorization : "";
+            Batch ready = null;
+            synchronized (this) {
+                Batch batch = open.get(key);
+                if (batch == null) {
+                    Batch created = new Batch(authorization, internalClaims);
+                    open.put(key, created);
+                    Schedulers.parallel().schedule(() -> flush(key, created), window.toNanos(), TimeUnit.NANOSECONDS);
+                    batch = created;
+                }
+                batch.add(id, result);
+                if (batch.waiters.size() >= maxBatchSize) {
+                    open.remove(key);
+                    ready = batch;
+                }
+            }
+            if (ready != null) {
+                send(ready);
+            }
+            return result.asMono();
+        });
+    }
+    
+    private void flush(String key, Batch batch) {
+        synchronized (this) {
+            // Already sent because it filled up before the window closed
+            if (!open.remove(key, batch)) {
+                return;
+            }
+        }
+        send(batch);
+    }
+    
+    private void send(Batch batch) {
+        batchSize.record(batch.waiters.size());
+        fillRatio.record((double) batch.waiters.size() / maxBatchSize);
+        webClient.post()
+                .uri("/users/batch")
+                .headers(headers -> {
+                    if (batch.authorization != null) {
+                        headers.set(HttpHeaders.AUTHORIZATION, batch.authorization);
+                    }
+                    if (batch.internalClaims != null) {
+                        headers.set(InternalClaimsSigner.HEADER, batch.internalClaims);
+                    }
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("ids", new ArrayList<>(batch.waiters.keySet())))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(timeout)
+                .subscribe(response -> complete(batch, response), error -> {
+                    log.debug("User batch of {} ids failed, falling back to single requests", batch.waiters.size(), error);
+                    batch.waiters.values().forEach(waiters -> emit(waiters, UserLookup.fallback(), fallback));
+                });
+    }
+    
+    private void complete(Batch batch, JsonNode response) {
+        Map<Long, JsonNode> users = new HashMap<>();
+        for (JsonNode user : response.path("users")) {
+            users.put(user.path("id").asLong(), user);
+        }
+        batch.waiters.forEach((id, waiters) -> {
+            JsonNode user = users.get(id);
+            if (user == null) {
+                emit(waiters, UserLookup.missing(), missing);
+                return;
+            }
+            try {
+                // Same tag user-service puts on GET /users/{id}
+                String etag = user.hasNonNull("version") ? "\"" + id + "-" + user.get("version").asLong() + "\"" : null;
+                emit(waiters, UserLookup.found(objectMapper.writeValueAsBytes(user), etag), found);
+            } catch (JsonProcessingException e) {
+                emit(waiters, UserLookup.fallback(), fallback);
+            }
+        });
+    }
+    
+    private static void emit(List<Sinks.One<UserLookup>> waiters, UserLookup lookup, Counter counter) {
+        for (Sinks.One<UserLookup> waiter : waiters) {
+            // A cancelled request has no subscriber left; there is nothing to deliver then
+            waiter.tryEmitValue(lookup);
+            counter.increment();
+        }
+    }
+    
+    private Counter lookups(String outcome) {
+        return Counter.builder("gateway.users.batch.lookups")
+                .description("Single-id user lookups answered through batching")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+    
+    private static final class Batch {
+        
+        private final String authorization;
+        private final String internalClaims;
+        private final Map<Long, List<Sinks.One<UserLookup>>> waiters = new LinkedHashMap<>();
+        
+        private Batch(String authorization, String internalClaims) {
+            this.authorization = authorization;
+            this.internalClaims = internalClaims;
+        }
+        
+        private void add(long id, Sinks.One<UserLookup> result) {
+            waiters.computeIfAbsent(id, key -> new ArrayList<>(1)).add(result);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.smartcampus.gateway.batch;
+
+/**
+ * Outcome of one single-id user lookup answered from a batch: the user's JSON, a definite
+ * miss, or a fallback telling the caller to route the request on its own.
+ */
+public final class UserLookup {
+    
+    public enum Outcome {
+        FOUND, MISSING, FALLBACK
+    }
+    
+    private static final UserLookup MISSING = new UserLookup(Outcome.MISSING, null, null);
+    private static final UserLookup FALLBACK = new UserLookup(Outcome.FALLBACK, null, null);
+    
+    private final Outcome outcome;
+    private final byte[] body;
+    private final String etag;
+    
+    private UserLookup(Outcome outcome, byte[] body, String etag) {
+        this.outcome = outcome;
+        this.body = body;
+        this.etag = etag;
+    }
+    
+    public static UserLookup found(byte[] body, String etag) {
+        return new UserLookup(Outcome.FOUND, body, etag);
+    }
+    
+    public static UserLookup missing() {
+        return MISSING;
+    }
+    
+    public static UserLookup fallback() {
+        return FALLBACK;
+    }
+    
+    public Outcome getOutcome() {
+        return outcome;
+    }
+    
+    public byte[] getBody() {
+        return body;
+    }
+    
+    public String getEtag() {
+        return etag;
+    }
+}
\ No newline at end of file
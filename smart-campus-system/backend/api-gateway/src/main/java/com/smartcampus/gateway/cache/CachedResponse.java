@@ -0,0 +1,66 @@
+package com.smartcampus.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A cached upstream response. The body lives in a direct (off-heap) buffer; readers get
+ * independent read-only views so concurrent hits never disturb each other's position.
+ */
+public final class CachedResponse {
+    
+    private final HttpStatusCode status;
+    private final HttpHeaders headers;
+    private final ByteBuffer body;
+    private final String etag;
+    private final long storedAt;
+    private final long expiresAt;
+    
+    public CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, String etag, long ttlMillis) {
+        this.status = status;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(body.length);
+        buffer.put(body).flip();
+        this.body = buffer.asReadOnlyBuffer();
+        this.etag = etag;
+        this.storedAt = System.currentTimeMillis();
+        this.expiresAt = storedAt + ttlMillis;
+    }
+    
+    public HttpStatusCode getStatus() {
+        return status;
+    }
+    
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+    
+    public ByteBuffer body() {
+        return body.duplicate();
+    }
+    
+    public int size() {
+        return body.capacity();
+    }
+    
+    public String getEtag() {
+        return etag;
+    }
+    
+    public long ageSeconds() {
+        return (System.currentTimeMillis() - storedAt) / 1000;
+    }
+    
+    public boolean isFresh() {
+        return System.currentTimeMillis() < expiresAt;
+    }
+    
+    /**
+     * Whether this response, fresh or not, may still stand in for an upstream that is failing.
+     */
+    public boolean isUsableStale(long maxStaleMillis) {
+        return System.currentTimeMillis() < expiresAt + maxStaleMillis;
+    }
+}
\ No newline at end of file
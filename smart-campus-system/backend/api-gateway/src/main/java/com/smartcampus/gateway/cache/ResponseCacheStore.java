@@ -0,0 +1,121 @@
+package com.smartcampus.gateway.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * LRU store of {@link CachedResponse}s bounded by the total size of the off-heap bodies.
+ * Direct buffers of evicted entries are released by the garbage collector once no in-flight
+ * hit still references them.
+ * <p>
+ * Expired entries are kept for {@code max-stale} longer, so they can be served as a fallback
+ * while the upstream is failing, but are never returned by {@link #get(String)}.
+ * <p>
+ * Every invalidation advances a generation counter. A response is stored only if no
+ * invalidation happened since its fetch started, so a read that raced a write cannot put back
+ * what the write replaced.
+ */
+@Component
+public class ResponseCacheStore {
+    
+    @Value("${gateway.response-cache.max-size:64MB}")
+    private DataSize maxSize;
+    
+    @Value("${gateway.response-cache.max-stale:10m}")
+    private Duration maxStale;
+    
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long usedBytes;
+    private long evictions;
+    private long invalidations;
+    
+    public synchronized CachedResponse get(String key) {
+        CachedResponse response = entries.get(key);
+        if (response != null && !response.isFresh()) {
+            if (!response.isUsableStale(maxStale.toMillis())) {
+                remove(key);
+            }
+            return null;
+        }
+        return response;
+    }
+    
+    /**
+     * Returns the last response stored under the key even if it has expired, as long as it is
+     * within {@code max-stale}.
+     */
+    public synchronized CachedResponse getStale(String key) {
+        CachedResponse response = entries.get(key);
+        if (response != null && !response.isUsableStale(maxStale.toMillis())) {
+            remove(key);
+            return null;
+        }
+        return response;
+    }
+    
+    /**
+     * The current invalidation generation, to be passed to {@link #put} by a fetch starting now.
+     */
+    public synchronized long generation() {
+        return invalidations;
+    }
+    
+    /**
+     * Stores the response unless an invalidation happened since {@code generation} was read.
+     */
+    public synchronized void put(String key, CachedResponse response, long generation) {
+        if (generation != invalidations || response.size() > maxSize.toBytes()) {
+            return;
+        }
+        remove(key);
+        entries.put(key, response);
+        usedBytes += response.size();
+        Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+        while (usedBytes > maxSize.toBytes() && eldest.hasNext()) {
+            usedBytes -= eldest.next().getValue().size();
+            eldest.remove();
+            evictions++;
+        }
+    }
+    
+    /**
+     * Drops every entry whose key matches.
+     */
+    public synchronized void invalidate(Predicate<String> keys) {
+        invalidations++;
+        Iterator<Map.Entry<String, CachedResponse>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, CachedResponse> entry = it.next();
+            if (keys.test(entry.getKey())) {
+                usedBytes -= entry.getValue().size();
+                it.remove();
+            }
+        }
+    }
+    
+    public synchronized int size() {
+        return entries.size();
+    }
+    
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+    
+    public synchronized long evictions() {
+        return evictions;
+    }
+    
+    private void remove(String key) {
+        CachedResponse previous = entries.remove(key);
+        if (previous != null) {
+            usedBytes -= previous.size();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.smartcampus.gateway.config;
+
+import com.smartcampus.gateway.loadbalancer.PeakEwmaLoadBalancerConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Replaces the default round-robin choice for every {@code lb://} service with the latency-aware
+ * {@link com.smartcampus.gateway.loadbalancer.PeakEwmaLoadBalancer}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "gateway.load-balancer.peak-ewma", havingValue = "true", matchIfMissing = true)
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
\ No newline at end of file
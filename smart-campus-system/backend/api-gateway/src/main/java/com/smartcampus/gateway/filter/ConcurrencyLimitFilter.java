@@ -0,0 +1,79 @@
+package com.smartcampus.gateway.filter;
+
+import com.smartcampus.gateway.ratelimit.ConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds requests a route's upstream has no room for, as judged by {@link ConcurrencyLimiter}.
+ * The round trip is measured until the response commits, which is when the upstream's headers
+ * arrive, and the slot is freed then; a 5xx or an error before it counts as a drop. Shed
+ * requests get 429 with a Retry-After of one second.
+ *
+ * Runs after {@link ResponseCacheFilter} and {@link UserBatchingFilter}, so only requests that
+ * actually go upstream take a slot.
+ */
+@Component
+public class ConcurrencyLimitFilter implements GlobalFilter, Ordered {
+    
+    @Autowired
+    private ConcurrencyLimiter limiter;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${gateway.concurrency-limit.enabled:true}")
+    private boolean enabled;
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!enabled) {
+            return chain.filter(exchange);
+        }
+        String route = RateLimitFilter.routeId(exchange);
+        ConcurrencyLimiter.RouteLimit limit = limiter.forRoute(route);
+        if (!limit.tryAcquire()) {
+            meterRegistry.counter("gateway.admission.rejected", "route", route, "reason", "concurrency").increment();
+            return RateLimitFilter.tooManyRequests(exchange, TimeUnit.SECONDS.toNanos(1));
+        }
+        long start = System.nanoTime();
+        AtomicBoolean sampled = new AtomicBoolean();
+        Runnable sample = () -> {
+            if (sampled.compareAndSet(false, true)) {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                limit.release(System.nanoTime() - start, status != null && status.is5xxServerError());
+            }
+        };
+        // Sampled as the response commits, when the upstream has answered, not once the body has streamed
+        exchange.getResponse().beforeCommit(() -> {
+            sample.run();
+            return Mono.empty();
+        });
+        return chain.filter(exchange).doOnSuccess(ignored -> sample.run()).doOnError(error -> {
+            if (sampled.compareAndSet(false, true)) {
+                limit.release(System.nanoTime() - start, true);
+            }
+        }).doOnCancel(() -> {
+            if (sampled.compareAndSet(false, true)) {
+                // The client went away; that says nothing about the upstream
+                limit.abandon();
+            }
+        });
+    }
+    
+    @Override
+    public int getOrder() {
+        return 1;
+    }
+}
\ No newline at end of file
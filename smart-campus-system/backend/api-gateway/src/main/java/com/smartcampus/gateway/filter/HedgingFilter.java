@@ -0,0 +1,186 @@
+package com.smartcampus.gateway.filter;
+
+import com.smartcampus.gateway.loadbalancer.InstanceStatsRegistry;
+import com.smartcampus.gateway.resilience.HedgePolicy;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Sends plain GETs on the routes listed under {@code gateway.resilience.hedging.routes} itself,
+ * instead of through the gateway's routing filter, so that a request still unanswered after the
+ * route's p95 ({@link HedgePolicy}) can race a second attempt against another instance. The first
+ * response headers win and the other attempt is cancelled.
+ * <p>
+ * Request and response headers go through the same {@link HttpHeadersFilter}s as routed requests,
+ * and the route's response timeout applies to the pair. Each attempt picks its instance through
+ * the route's load balancer and reports to {@link InstanceStatsRegistry} like any routed request.
+ */
+@Component
+public class HedgingFilter implements GlobalFilter, Ordered {
+    
+    @Autowired
+    private HedgePolicy policy;
+    
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+    
+    @Autowired
+    private LoadBalancerClientFactory clientFactory;
+    
+    @Autowired
+    private InstanceStatsRegistry instanceStats;
+    
+    @Autowired
+    private HttpClientProperties httpClientProperties;
+    
+    @Autowired
+    private ObjectProvider<List<HttpHeadersFilter>> headersFilters;
+    
+    private WebClient webClient;
+    
+    @PostConstruct
+    void init() {
+        webClient = webClientBuilder.clone().build();
+    }
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        URI url = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        String route = RateLimitFilter.routeId(exchange);
+        if (url == null || !policy.isHedged(route) || !HttpMethod.GET.equals(request.getMethod())
+                || hasBody(request.getHeaders()) || ServerWebExchangeUtils.isAlreadyRouted(exchange)) {
+            return chain.filter(exchange);
+        }
+        HedgePolicy.RouteHedge hedge = policy.forRoute(route);
+        hedge.onRequest();
+        long delay = hedge.delayNanos();
+        
+        HttpHeaders headers = HttpHeadersFilter.filterRequest(headersFilters.getIfAvailable(), exchange);
+        headers.remove(HttpHeaders.HOST);
+        long start = System.nanoTime();
+        Mono<ResponseEntity<Flux<DataBuffer>>> first = attempt(url, headers);
+        Mono<ResponseEntity<Flux<DataBuffer>>> response = first;
+        if (delay >= 0) {
+            Mono<ResponseEntity<Flux<DataBuffer>>> second = Mono.delay(Duration.ofNanos(delay))
+                    .filter(ignored -> hedge.tryHedge())
+                    .flatMap(ignored -> attempt(url, headers))
+                    .doOnNext(ignored -> hedge.onHedgeWon());
+            response = Mono.firstWithValue(first, second)
+                    // Both attempts failed: report the first one's error
+                    .onErrorMap(NoSuchElementException.class, e -> e.getSuppressed().length > 0 ? e.getSuppressed()[0] : e);
+        }
+        Duration timeout = responseTimeout(exchange);
+        if (timeout != null) {
+            response = response.timeout(timeout, Mono.error(() -> new TimeoutException("Response took longer than timeout: " + timeout)))
+                    .onErrorMap(TimeoutException.class, e -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, e.getMessage(), e));
+        }
+        ServerWebExchangeUtils.setAlreadyRouted(exchange);
+        return response.flatMap(entity -> {
+            hedge.record(System.nanoTime() - start);
+            ServerHttpResponse downstream = exchange.getResponse();
+            downstream.setStatusCode(entity.getStatusCode());
+            downstream.getHeaders().putAll(HttpHeadersFilter.filter(headersFilters.getIfAvailable(), entity.getHeaders(),
+                    exchange, HttpHeadersFilter.Type.RESPONSE));
+            return downstream.writeWith(entity.getBody());
+        });
+    }
+    
+    @Override
+    public int getOrder() {
+        // The request URL is final here, and the load balancer filter has not yet picked an instance
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 1;
+    }
+    
+    private Mono<ResponseEntity<Flux<DataBuffer>>> attempt(URI url, HttpHeaders headers) {
+        if (!"lb".equals(url.getScheme())) {
+            return send(url, headers);
+        }
+        return Mono.from(clientFactory.getInstance(url.getHost()).choose(new DefaultRequest<>()))
+                .filter(Response::hasServer)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Unable to find instance for " + url.getHost())))
+                .flatMap(chosen -> {
+                    ServiceInstance instance = chosen.getServer();
+                    URI target = UriComponentsBuilder.fromUri(url)
+                            .scheme(instance.isSecure() ? "https" : "http")
+                            .host(instance.getHost())
+                            .port(instance.getPort())
+                            .build(true)
+                            .toUri();
+                    InstanceStatsRegistry.InstanceStats stats = instanceStats.stats(instance);
+                    stats.start();
+                    long start = System.nanoTime();
+                    return send(target, headers).doFinally(signal -> {
+                        if (signal == SignalType.CANCEL) {
+                            stats.abandon();
+                        }
+                    }).doOnError(e -> stats.failure()).doOnNext(entity -> {
+                        if (entity.getStatusCode().is5xxServerError()) {
+                            stats.failure();
+                        } else {
+                            stats.success(System.nanoTime() - start);
+                        }
+                    });
+                });
+    }
+    
+    private Mono<ResponseEntity<Flux<DataBuffer>>> send(URI target, HttpHeaders headers) {
+        return webClient.get()
+                .uri(target)
+                .headers(outgoing -> outgoing.addAll(headers))
+                .retrieve()
+                // Error statuses are relayed to the client as they are
+                .onStatus(status -> true, upstream -> Mono.empty())
+                .toEntityFlux(DataBuffer.class);
+    }
+    
+    private Duration responseTimeout(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        Object perRoute = route != null ? route.getMetadata().get(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR) : null;
+        if (perRoute == null) {
+            return httpClientProperties.getResponseTimeout();
+        }
+        long millis = perRoute instanceof Number number ? number.longValue() : Long.parseLong(perRoute.toString());
+        return millis < 0 ? null : Duration.ofMillis(millis);
+    }
+    
+    private static boolean hasBody(HttpHeaders headers) {
+        return headers.getContentLength() > 0 || headers.containsKey(HttpHeaders.TRANSFER_ENCODING);
+    }
+}
\ No newline at end of file
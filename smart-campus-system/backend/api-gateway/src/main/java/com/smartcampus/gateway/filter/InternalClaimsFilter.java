@@ -0,0 +1,48 @@
+package com.smartcampus.gateway.filter;
+
+import com.smartcampus.gateway.security.InternalClaimsSigner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Forwards the caller's verified claims as {@value InternalClaimsSigner#HEADER}, so downstream
+ * services accept the request on an HMAC check instead of verifying the bearer token again.
+ *
+ * A header of that name sent by the client is always dropped, signer or not. Runs before
+ * {@link UserBatchingFilter}, which passes the header on with its batch requests.
+ */
+@Component
+public class InternalClaimsFilter implements GlobalFilter, Ordered {
+    
+    @Autowired
+    private InternalClaimsSigner signer;
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerWebExchange stripped = exchange.mutate()
+                .request(request -> request.headers(headers -> headers.remove(InternalClaimsSigner.HEADER)))
+                .build();
+        if (!signer.isEnabled()) {
+            return chain.filter(stripped);
+        }
+        return stripped.getPrincipal()
+                .filter(JwtAuthenticationToken.class::isInstance)
+                .map(principal -> stripped.mutate()
+                        .request(request -> request.header(InternalClaimsSigner.HEADER,
+                                signer.sign(((JwtAuthenticationToken) principal).getToken())))
+                        .build())
+                .defaultIfEmpty(stripped)
+                .flatMap(chain::filter);
+    }
+    
+    @Override
+    public int getOrder() {
+        return -10;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.smartcampus.gateway.filter;
+
+import com.smartcampus.gateway.loadbalancer.InstanceStatsRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Feeds each routed request's round trip and outcome into {@link InstanceStatsRegistry}, right
+ * after {@link ReactiveLoadBalancerClientFilter} has picked the instance. The round trip ends
+ * when the response commits, i.e. when the upstream's headers arrive, so a large or slowly read
+ * body does not make the instance look slow. Done here rather than in a
+ * {@code LoadBalancerLifecycle}, which is never told about requests the client cancelled and would
+ * leave them counted as in flight.
+ */
+@Component
+public class LoadBalancerStatsFilter implements GlobalFilter, Ordered {
+    
+    @Autowired
+    private InstanceStatsRegistry registry;
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Response<ServiceInstance> chosen = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (chosen == null || !chosen.hasServer()) {
+            return chain.filter(exchange);
+        }
+        InstanceStatsRegistry.InstanceStats stats = registry.stats(chosen.getServer());
+        stats.start();
+        long start = System.nanoTime();
+        AtomicBoolean recorded = new AtomicBoolean();
+        Runnable record = () -> {
+            if (recorded.compareAndSet(false, true)) {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                if (status != null && status.is5xxServerError()) {
+                    stats.failure();
+                } else {
+                    stats.success(System.nanoTime() - start);
+                }
+            }
+        };
+        // The routing filter writes the response as soon as the upstream's headers are in
+        exchange.getResponse().beforeCommit(() -> {
+            record.run();
+            return Mono.empty();
+        });
+        return chain.filter(exchange).doOnSuccess(ignored -> record.run()).doOnError(error -> {
+            if (recorded.compareAndSet(false, true)) {
+                stats.failure();
+            }
+        }).doOnCancel(() -> {
+            if (recorded.compareAndSet(false, true)) {
+                stats.abandon();
+            }
+        });
+    }
+    
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.smartcampus.gateway.filter;
+
+import com.smartcampus.gateway.ratelimit.TokenBucketLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits each caller's request rate per route with {@link TokenBucketLimiter}. Callers are told
+ * apart by their authenticated principal, or by client address when there is none. Requests over
+ * the limit are answered with 429 and a Retry-After of when the next token comes in.
+ *
+ * Runs first among the gateway filters, so cached and batched answers count towards the limit too.
+ */
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+    
+    @Autowired
+    private TokenBucketLimiter limiter;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${gateway.rate-limit.enabled:true}")
+    private boolean enabled;
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!enabled) {
+            return chain.filter(exchange);
+        }
+        String route = routeId(exchange);
+        return exchange.getPrincipal()
+                .map(Principal::getName)
+                .defaultIfEmpty(clientAddress(exchange))
+                .flatMap(caller -> {
+                    long wait = limiter.tryAcquire(route, caller);
+                    if (wait == 0) {
+                        return chain.filter(exchange);
+                    }
+                    meterRegistry.counter("gateway.admission.rejected", "route", route, "reason", "rate").increment();
+                    return tooManyRequests(exchange, wait);
+                });
+    }
+    
+    @Override
+    public int getOrder() {
+        return -20;
+    }
+    
+    static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "";
+    }
+    
+    /**
+     * Ends the exchange with 429, asking the client to come back after the given wait (at least a second).
+     */
+    static Mono<Void> tooManyRequests(ServerWebExchange exchange, long waitNanos) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        long seconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        return response.setComplete();
+    }
+    
+    private static String clientAddress(ServerWebExchange exchange) {
+        InetSocketAddress address = exchange.getRequest().getRemoteAddress();
+        if (address == null) {
+            return "unknown";
+        }
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+}
\ No newline at end of file
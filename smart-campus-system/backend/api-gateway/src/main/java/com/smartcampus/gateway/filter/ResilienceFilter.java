@@ -0,0 +1,190 @@
+package com.smartcampus.gateway.filter;
+
+import com.smartcampus.gateway.cache.CachedResponse;
+import com.smartcampus.gateway.cache.ResponseCacheStore;
+import com.smartcampus.gateway.resilience.Bulkhead;
+import com.smartcampus.gateway.resilience.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Puts every routed request through its route's {@link CircuitBreaker} and {@link Bulkhead}.
+ * Errors, timeouts and 5xx responses count as failures; a 429 from the gateway's own admission
+ * control counts as neither.
+ * <p>
+ * A request turned away by either, or whose upstream call fails or answers 5xx before a response
+ * has started, is answered from the last good response {@link ResponseCacheFilter} stored for it,
+ * marked {@code X-Cache: STALE}, if one is still within {@code max-stale}. Without one, rejections
+ * get 503 with a Retry-After and upstream errors surface as they would otherwise.
+ *
+ * Runs after {@link ResponseCacheFilter}, so cache hits never take a slot, and before
+ * {@link UserBatchingFilter}, so batched lookups do.
+ */
+@Component
+public class ResilienceFilter implements GlobalFilter, Ordered {
+    
+    @Autowired
+    private CircuitBreaker circuitBreaker;
+    
+    @Autowired
+    private Bulkhead bulkhead;
+    
+    @Autowired
+    private ResponseCacheStore cacheStore;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${gateway.resilience.enabled:true}")
+    private boolean enabled;
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String route = RateLimitFilter.routeId(exchange);
+        if (!enabled || route.isEmpty()) {
+            return chain.filter(exchange);
+        }
+        CircuitBreaker.RouteBreaker breaker = circuitBreaker.forRoute(route);
+        long ticket = breaker.tryAcquire();
+        if (ticket == CircuitBreaker.REJECTED) {
+            meterRegistry.counter("gateway.admission.rejected", "route", route, "reason", "circuit-open").increment();
+            return unavailable(exchange, route, breaker.retryAfterNanos());
+        }
+        return bulkhead.forRoute(route).acquire().flatMap(permit -> {
+            if (!permit.isAcquired()) {
+                breaker.abandon(ticket);
+                meterRegistry.counter("gateway.admission.rejected", "route", route, "reason", "bulkhead").increment();
+                return unavailable(exchange, route, TimeUnit.SECONDS.toNanos(1));
+            }
+            StaleOnServerError fallback = exchange.getAttribute(ResponseCacheFilter.CACHE_KEY_ATTR) != null
+                    ? new StaleOnServerError(exchange, route)
+                    : null;
+            ServerWebExchange routed = fallback != null ? exchange.mutate().response(fallback).build() : exchange;
+            return chain.filter(routed).doFinally(signal -> {
+                permit.release();
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                if (fallback != null && fallback.servedStale) {
+                    // The upstream answered 5xx, however the stale response's delivery ended
+                    breaker.onFailure(ticket);
+                } else if (signal == SignalType.CANCEL || HttpStatus.TOO_MANY_REQUESTS.equals(status)) {
+                    breaker.abandon(ticket);
+                } else if (signal == SignalType.ON_ERROR || status != null && status.is5xxServerError()) {
+                    breaker.onFailure(ticket);
+                } else {
+                    breaker.onSuccess(ticket);
+                }
+            }).onErrorResume(error -> {
+                CachedResponse stale = exchange.getResponse().isCommitted() ? null : stale(exchange);
+                return stale != null ? serveStale(exchange, route, stale) : Mono.error(error);
+            });
+        });
+    }
+    
+    @Override
+    public int getOrder() {
+        return -1;
+    }
+    
+    private Mono<Void> unavailable(ServerWebExchange exchange, String route, long retryAfterNanos) {
+        CachedResponse stale = stale(exchange);
+        if (stale != null) {
+            return serveStale(exchange, route, stale);
+        }
+        meterRegistry.counter("gateway.fallback", "route", route, "outcome", "unavailable").increment();
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        long seconds = Math.max(1, (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        return response.setComplete();
+    }
+    
+    private CachedResponse stale(ServerWebExchange exchange) {
+        String key = exchange.getAttribute(ResponseCacheFilter.CACHE_KEY_ATTR);
+        return key != null ? cacheStore.getStale(key) : null;
+    }
+    
+    private Mono<Void> serveStale(ServerWebExchange exchange, String route, CachedResponse stale) {
+        meterRegistry.counter("gateway.fallback", "route", route, "outcome", "stale").increment();
+        exchange.getResponse().getHeaders().set(HttpHeaders.WARNING, "110 - \"Response is Stale\"");
+        return ResponseCacheFilter.serve(exchange, stale, ResponseCacheFilter.STALE);
+    }
+    
+    /**
+     * Replaces a 5xx from upstream with the stale entry, if there is one, before anything of it has
+     * been sent. The beforeCommit actions of the filters further in are held back and run here,
+     * with the upstream's status, so they still see the failure rather than the stale 200.
+     */
+    private final class StaleOnServerError extends ServerHttpResponseDecorator {
+        
+        private final ServerWebExchange exchange;
+        private final String route;
+        // What the gateway itself had set before the upstream's headers were copied in
+        private final HttpHeaders gatewayHeaders = new HttpHeaders();
+        private final List<Supplier<? extends Mono<Void>>> commitActions = new ArrayList<>();
+        private volatile boolean servedStale;
+        
+        private StaleOnServerError(ServerWebExchange exchange, String route) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.route = route;
+            gatewayHeaders.addAll(exchange.getResponse().getHeaders());
+        }
+        
+        @Override
+        public void beforeCommit(Supplier<? extends Mono<Void>> action) {
+            commitActions.add(action);
+        }
+        
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return commit(() -> super.writeWith(body), Flux.from(body));
+        }
+        
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return commit(() -> super.writeAndFlushWith(body), Flux.from(body).concatMap(Flux::from));
+        }
+        
+        @Override
+        public Mono<Void> setComplete() {
+            return commit(super::setComplete, Flux.empty());
+        }
+        
+        private Mono<Void> commit(Supplier<Mono<Void>> write, Flux<? extends DataBuffer> upstreamBody) {
+            return Flux.fromIterable(commitActions).concatMap(Supplier::get).then(Mono.defer(() -> {
+                HttpStatusCode status = getStatusCode();
+                CachedResponse stale = status != null && status.is5xxServerError() ? stale(exchange) : null;
+                if (stale == null) {
+                    return write.get();
+                }
+                servedStale = true;
+                getHeaders().clear();
+                getHeaders().addAll(gatewayHeaders);
+                return upstreamBody.doOnNext(DataBufferUtils::release)
+                        .then(Mono.defer(() -> serveStale(exchange, route, stale)));
+            }));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,352 @@
+package com.smartcampus.gateway.filter;
+
+import com.smartcampus.gateway.cache.CachedResponse;
+import com.smartcampus.gateway.cache.ResponseCacheStore;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Caches successful GET responses of the user and course routes in the gateway.
+ *
+ * Entries are keyed on path, query, Accept and the caller (principal name, or a digest of the
+ * Authorization header) so one user's view is never served to another. Request and response
+ * Cache-Control directives are honored, hits answer If-None-Match with 304, and concurrent
+ * misses for the same key share a single upstream call. An unsafe request under a cached prefix
+ * evicts the entries it may have changed, and a miss whose fetch overlapped such an eviction is
+ * not stored; POSTs listed under {@code read-only-posts}, such as the
+ * user batch lookup, evict nothing.
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+    
+    /**
+     * Exchange attribute holding the cache key of a GET this filter handles, for stale fallbacks.
+     */
+    static final String CACHE_KEY_ATTR = ResponseCacheFilter.class.getName() + ".cacheKey";
+    
+    /**
+     * X-Cache value of a response served from an expired entry in place of a failing upstream.
+     */
+    static final String STALE = "STALE";
+    
+    private static final Set<String> EXCLUDED_HEADERS = Set.of(
+            "connection", "keep-alive", "proxy-authenticate", "proxy-authorization", "te",
+            "trailer", "transfer-encoding", "upgrade", "set-cookie", "content-length", "vary", "age");
+    
+    @Autowired
+    private ResponseCacheStore store;
+    
+    @Value("${gateway.response-cache.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${gateway.response-cache.paths:/api/users,/api/courses}")
+    private List<String> paths;
+    
+    @Value("${gateway.response-cache.default-ttl:30s}")
+    private Duration defaultTtl;
+    
+    @Value("${gateway.response-cache.max-entry-size:1MB}")
+    private DataSize maxEntrySize;
+    
+    @Value("${gateway.response-cache.collapse-timeout:5s}")
+    private Duration collapseTimeout;
+    
+    @Value("${gateway.response-cache.read-only-posts:/api/users/batch}")
+    private List<String> readOnlyPosts;
+    
+    private final Map<String, Sinks.Empty<Void>> inFlight = new ConcurrentHashMap<>();
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String prefix = enabled ? matchPrefix(request.getPath().value()) : null;
+        if (prefix == null) {
+            return chain.filter(exchange);
+        }
+        
+        HttpMethod method = request.getMethod();
+        if (!HttpMethod.GET.equals(method)) {
+            if (HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method)
+                    || HttpMethod.POST.equals(method) && readOnlyPosts.contains(request.getPath().value())) {
+                return chain.filter(exchange);
+            }
+            // Evict before the write, and again once it is done: the second eviction also stops any
+            // fetch that started before then from storing what it read (ResponseCacheStore#generation)
+            Predicate<String> affected = affectedBy(prefix, request.getPath().value());
+            store.invalidate(affected);
+            return chain.filter(exchange).doFinally(signal -> store.invalidate(affected));
+        }
+        
+        String requestCacheControl = cacheControl(request.getHeaders());
+        if (requestCacheControl.contains("no-store")) {
+            return chain.filter(exchange);
+        }
+        boolean lookup = !requestCacheControl.contains("no-cache") && !requestCacheControl.contains("max-age=0");
+        
+        return cacheKey(exchange).flatMap(key -> {
+            exchange.getAttributes().put(CACHE_KEY_ATTR, key);
+            if (lookup) {
+                CachedResponse cached = store.get(key);
+                if (cached != null) {
+                    return serve(exchange, cached, "HIT");
+                }
+            }
+            
+            Sinks.Empty<Void> leader = Sinks.empty();
+            Sinks.Empty<Void> existing = inFlight.putIfAbsent(key, leader);
+            if (existing == null) {
+                Runnable release = () -> {
+                    inFlight.remove(key, leader);
+                    leader.tryEmitEmpty();
+                };
+                return fetch(exchange, chain, key, release).doFinally(signal -> release.run());
+            }
+            
+            // Another request is already fetching this key: wait for it, then reuse its result. A
+            // leader whose response turns out not to be cacheable releases the waiters at once
+            return existing.asMono()
+                    .timeout(collapseTimeout)
+                    .onErrorResume(e -> Mono.empty())
+                    .then(Mono.defer(() -> {
+                        CachedResponse cached = store.get(key);
+                        return cached != null ? serve(exchange, cached, "HIT") : chain.filter(exchange);
+                    }));
+        });
+    }
+    
+    @Override
+    public int getOrder() {
+        // Must wrap the response before NettyWriteResponseFilter writes the upstream body
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+    
+    private Mono<Void> fetch(ServerWebExchange exchange, GatewayFilterChain chain, String key, Runnable release) {
+        // Taken before the upstream call, so the upstream read cannot predate it
+        long generation = store.generation();
+        ServerHttpResponse response = exchange.getResponse();
+        ServerHttpResponseDecorator decorated = new ServerHttpResponseDecorator(response) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                HttpHeaders headers = getHeaders();
+                Duration ttl = responseTtl(headers);
+                // A stale fallback is written through here too, and must not come back as fresh
+                if (!HttpStatus.OK.equals(getStatusCode()) || ttl == null || STALE.equals(headers.getFirst("X-Cache"))) {
+                    release.run();
+                    return super.writeWith(body);
+                }
+                
+                long limit = maxEntrySize.toBytes();
+                ByteArrayOutputStream captured = new ByteArrayOutputStream();
+                boolean[] overflow = {false};
+                Flux<DataBuffer> tee = Flux.<DataBuffer>from(body).doOnNext(buffer -> {
+                    if (overflow[0]) {
+                        return;
+                    }
+                    int readable = buffer.readableByteCount();
+                    if (captured.size() + readable > limit) {
+                        overflow[0] = true;
+                        captured.reset();
+                        release.run();
+                        return;
+                    }
+                    byte[] bytes = new byte[readable];
+                    int position = buffer.readPosition();
+                    buffer.read(bytes);
+                    buffer.readPosition(position);
+                    captured.writeBytes(bytes);
+                }).doOnComplete(() -> {
+                    if (!overflow[0]) {
+                        store.put(key, toCachedResponse(headers, captured.toByteArray(), ttl), generation);
+                    }
+                });
+                return super.writeWith(tee);
+            }
+        };
+        response.getHeaders().set("X-Cache", "MISS");
+        return chain.filter(exchange.mutate().response(decorated).build());
+    }
+    
+    static Mono<Void> serve(ServerWebExchange exchange, CachedResponse cached, String cacheStatus) {
+        ServerHttpResponse response = exchange.getResponse();
+        String ifNoneMatch = exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && etagMatches(ifNoneMatch, cached.getEtag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            response.getHeaders().setETag(cached.getEtag());
+            return response.setComplete();
+        }
+        
+        response.setStatusCode(cached.getStatus());
+        cached.getHeaders().forEach((name, values) -> response.getHeaders().put(name, values));
+        response.getHeaders().setContentLength(cached.size());
+        response.getHeaders().set(HttpHeaders.AGE, String.valueOf(cached.ageSeconds()));
+        response.getHeaders().set("X-Cache", cacheStatus);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+    
+    private CachedResponse toCachedResponse(HttpHeaders upstream, byte[] body, Duration ttl) {
+        HttpHeaders headers = new HttpHeaders();
+        upstream.forEach((name, values) -> {
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (!EXCLUDED_HEADERS.contains(lower) && !lower.startsWith("access-control-") && !lower.equals("x-cache")) {
+                headers.put(name, values);
+            }
+        });
+        String etag = headers.getETag();
+        if (etag == null) {
+            etag = "W/\"" + digest(body).substring(0, 32) + "\"";
+            headers.setETag(etag);
+        }
+        return new CachedResponse(HttpStatus.OK, headers, body, etag, ttl.toMillis());
+    }
+    
+    /**
+     * Returns how long a response may be cached, or null when it must not be stored.
+     */
+    private Duration responseTtl(HttpHeaders headers) {
+        // private is honored by keying entries per caller, so it does not prevent storing
+        String cacheControl = cacheControl(headers);
+        if (cacheControl.contains("no-store") || cacheControl.contains("no-cache")
+                || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return null;
+        }
+        Long seconds = directiveSeconds(cacheControl, "s-maxage");
+        if (seconds == null) {
+            seconds = directiveSeconds(cacheControl, "max-age");
+        }
+        if (seconds == null) {
+            return defaultTtl;
+        }
+        return seconds > 0 ? Duration.ofSeconds(seconds) : null;
+    }
+    
+    private Mono<String> cacheKey(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        String anonymous = authorization != null ? "auth:" + digest(authorization.getBytes(StandardCharsets.UTF_8)) : "anonymous";
+        String query = request.getURI().getRawQuery();
+        String accept = request.getHeaders().getFirst(HttpHeaders.ACCEPT);
+        return exchange.getPrincipal()
+                .map(Principal::getName)
+                .defaultIfEmpty(anonymous)
+                .map(caller -> request.getPath().value() + (query != null ? "?" + query : "")
+                        + "|" + (accept != null ? accept : "") + "|" + caller);
+    }
+    
+    /**
+     * The entries a write to the path may change. A write to one resource, {@code prefix/{id}} or
+     * below it, leaves the entries of other ids alone; every other entry under the prefix may list
+     * or embed what was written.
+     */
+    private static Predicate<String> affectedBy(String prefix, String path) {
+        String id = resourceId(prefix, path);
+        return key -> {
+            if (!key.startsWith(prefix)) {
+                return false;
+            }
+            String other = id != null ? resourceId(prefix, keyPath(key)) : null;
+            return other == null || other.equals(id);
+        };
+    }
+    
+    // The numeric path segment right after the prefix, or null when there is none
+    private static String resourceId(String prefix, String path) {
+        int start = prefix.length() + 1;
+        if (path.length() <= start || path.charAt(start - 1) != '/') {
+            return null;
+        }
+        int end = path.indexOf('/', start);
+        String segment = path.substring(start, end < 0 ? path.length() : end);
+        return !segment.isEmpty() && segment.chars().allMatch(Character::isDigit) ? segment : null;
+    }
+    
+    // Keys look like path[?query]|accept|caller
+    private static String keyPath(String key) {
+        int end = key.indexOf('|');
+        int query = key.indexOf('?');
+        return key.substring(0, query >= 0 && query < end ? query : end);
+    }
+    
+    private String matchPrefix(String path) {
+        for (String prefix : paths) {
+            if (path.equals(prefix) || path.startsWith(prefix + "/")) {
+                return prefix;
+            }
+        }
+        return null;
+    }
+    
+    private static String cacheControl(HttpHeaders headers) {
+        return String.join(",", headers.getOrEmpty(HttpHeaders.CACHE_CONTROL)).toLowerCase(Locale.ROOT);
+    }
+    
+    private static Long directiveSeconds(String cacheControl, String directive) {
+        for (String part : cacheControl.split(",")) {
+            String trimmed = part.trim();
+            if (trimmed.startsWith(directive + "=")) {
+                try {
+                    return Long.parseLong(trimmed.substring(directive.length() + 1).replace("\"", ""));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+    
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch.trim().equals("*")) {
+            return true;
+        }
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.startsWith("W/")) {
+                trimmed = trimmed.substring(2);
+            }
+            if (trimmed.equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static String digest(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.smartcampus.gateway.filter;
+
+import com.smartcampus.gateway.batch.UserBatcher;
+import com.smartcampus.gateway.batch.UserLookup;
+import com.smartcampus.gateway.security.InternalClaimsSigner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Answers plain {@code GET /api/users/{id}} requests through {@link UserBatcher}, so a dashboard's
+ * burst of parallel lookups reaches user-service as a few batch requests instead of one request
+ * (and one query) per id.
+ *
+ * Runs after {@link ResponseCacheFilter}, so cache hits never wait for a batch and batched
+ * answers are still cached. Requests with a query string are routed normally.
+ */
+@Component
+public class UserBatchingFilter implements GlobalFilter, Ordered {
+    
+    private static final Pattern USER_BY_ID = Pattern.compile("/api/users/(\\d{1,18})");
+    
+    @Autowired
+    private UserBatcher batcher;
+    
+    @Value("${gateway.user-batching.enabled:true}")
+    private boolean enabled;
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!enabled || !HttpMethod.GET.equals(request.getMethod()) || request.getURI().getRawQuery() != null) {
+            return chain.filter(exchange);
+        }
+        Matcher matcher = USER_BY_ID.matcher(request.getPath().value());
+        if (!matcher.matches()) {
+            return chain.filter(exchange);
+        }
+        
+        long id = Long.parseLong(matcher.group(1));
+        HttpHeaders headers = request.getHeaders();
+        return batcher.lookup(headers.getFirst(HttpHeaders.AUTHORIZATION), headers.getFirst(InternalClaimsSigner.HEADER), id)
+                .flatMap(lookup -> switch (lookup.getOutcome()) {
+                    case FOUND -> write(exchange, lookup);
+                    case MISSING -> {
+                        exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+                        yield exchange.getResponse().setComplete();
+                    }
+                    case FALLBACK -> chain.filter(exchange);
+                });
+    }
+    
+    @Override
+    public int getOrder() {
+        // After ResponseCacheFilter, before the route's own filters (StripPrefix) rewrite the path
+        return 0;
+    }
+    
+    private Mono<Void> write(ServerWebExchange exchange, UserLookup lookup) {
+        if (lookup.getEtag() != null && exchange.checkNotModified(lookup.getEtag())) {
+            return exchange.getResponse().setComplete();
+        }
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(lookup.getBody().length);
+        if (lookup.getEtag() != null) {
+            response.getHeaders().setETag(lookup.getEtag());
+        }
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(lookup.getBody())));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,203 @@
+package com.smartcampus.gateway.loadbalancer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * What the gateway has observed of every upstream instance: a peak-EWMA round trip, requests in
+ * flight, a slow-start ramp and consecutive failures, read by {@link PeakEwmaLoadBalancer}.
+ * <p>
+ * The peak EWMA jumps straight to any round trip above it and decays towards faster ones over
+ * {@code decay-time}, so a GC pause or a cold JIT shows up at once and is forgiven gradually.
+ * An instance starts (and restarts after an ejection) with its cost inflated, shrinking to its
+ * real value over {@code slow-start}. After {@code ejection-failures} consecutive errors or 5xx
+ * responses it is ejected for {@code ejection-time}, longer each time, but never more than
+ * {@code max-ejection-percent} of a service at once.
+ */
+@Component
+public class InstanceStatsRegistry {
+    
+    // Cost of an instance with requests out but no round trip measured yet: keep to one probe at a time
+    private static final double UNMEASURED_PENALTY = 1e15;
+    
+    private static final double MIN_SLOW_START_WEIGHT = 0.1;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${gateway.load-balancer.decay-time:10s}")
+    private Duration decayTime;
+    
+    @Value("${gateway.load-balancer.slow-start:30s}")
+    private Duration slowStart;
+    
+    @Value("${gateway.load-balancer.ejection-failures:5}")
+    private int ejectionFailures;
+    
+    @Value("${gateway.load-balancer.ejection-time:30s}")
+    private Duration ejectionTime;
+    
+    @Value("${gateway.load-balancer.max-ejection-percent:50}")
+    private int maxEjectionPercent;
+    
+    private final ConcurrentHashMap<String, ServiceStats> services = new ConcurrentHashMap<>();
+    
+    /**
+     * The instances that may take requests right now: all of them except ejected ones, unless
+     * every instance is ejected, in which case all are tried again.
+     */
+    public List<ServiceInstance> available(String serviceId, List<ServiceInstance> instances) {
+        ServiceStats service = service(serviceId);
+        service.reconcile(instances);
+        long now = System.nanoTime();
+        List<ServiceInstance> available = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            if (!stats(instance).isEjected(now)) {
+                available.add(instance);
+            }
+        }
+        return available.isEmpty() ? instances : available;
+    }
+    
+    public InstanceStats stats(ServiceInstance instance) {
+        return service(instance.getServiceId()).instances.computeIfAbsent(key(instance), key -> new InstanceStats(instance.getServiceId()));
+    }
+    
+    // Eureka reports service ids upper-cased while lb:// URIs use them lower-cased
+    private ServiceStats service(String serviceId) {
+        String id = serviceId.toLowerCase(Locale.ROOT);
+        ServiceStats service = services.get(id);
+        return service != null ? service : services.computeIfAbsent(id, ignored -> new ServiceStats());
+    }
+    
+    private static String key(ServiceInstance instance) {
+        return instance.getHost() + ':' + instance.getPort();
+    }
+    
+    private final class ServiceStats {
+        
+        private final ConcurrentHashMap<String, InstanceStats> instances = new ConcurrentHashMap<>();
+        private volatile List<ServiceInstance> known;
+        
+        // Discovery hands out the same list until it changes, so this is an identity check per request
+        private void reconcile(List<ServiceInstance> current) {
+            if (current == known) {
+                return;
+            }
+            Set<String> keys = new HashSet<>();
+            for (ServiceInstance instance : current) {
+                keys.add(key(instance));
+            }
+            // A deregistered instance that comes back later starts over, slow start included
+            instances.keySet().retainAll(keys);
+            known = current;
+        }
+        
+        private boolean mayEject() {
+            long now = System.nanoTime();
+            long ejected = instances.values().stream().filter(stats -> stats.isEjected(now)).count();
+            return (ejected + 1) * 100 <= (long) instances.size() * maxEjectionPercent;
+        }
+    }
+    
+    public final class InstanceStats {
+        
+        private final String serviceId;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private double peakEwma;
+        private long lastSample;
+        private long warmingSince = System.nanoTime();
+        private int consecutiveFailures;
+        private int ejections;
+        private long ejectedUntil;
+        
+        private InstanceStats(String serviceId) {
+            this.serviceId = serviceId;
+        }
+        
+        /**
+         * Expected cost of sending this instance one more request; lower is better.
+         */
+        public synchronized double cost(long now) {
+            int pending = inFlight.get();
+            if (peakEwma == 0) {
+                return pending == 0 ? 0 : UNMEASURED_PENALTY;
+            }
+            double decayed = peakEwma * Math.exp(-(double) (now - lastSample) / decayTime.toNanos());
+            double weight = Math.max(MIN_SLOW_START_WEIGHT, Math.min(1.0, (double) (now - warmingSince) / slowStart.toNanos()));
+            return decayed * (pending + 1) / weight;
+        }
+        
+        public void start() {
+            inFlight.incrementAndGet();
+        }
+        
+        public void success(long rttNanos) {
+            inFlight.decrementAndGet();
+            long now = System.nanoTime();
+            synchronized (this) {
+                if (rttNanos > peakEwma) {
+                    peakEwma = rttNanos;
+                } else {
+                    double w = Math.exp(-(double) (now - lastSample) / decayTime.toNanos());
+                    peakEwma = peakEwma * w + rttNanos * (1 - w);
+                }
+                lastSample = now;
+                consecutiveFailures = 0;
+            }
+        }
+        
+        public void failure() {
+            inFlight.decrementAndGet();
+            boolean eject;
+            synchronized (this) {
+                eject = ++consecutiveFailures >= ejectionFailures && ejectedUntil == 0;
+            }
+            if (eject && service(serviceId).mayEject()) {
+                synchronized (this) {
+                    ejections++;
+                    ejectedUntil = System.nanoTime() + ejectionTime.toNanos() * Math.min(ejections, 10);
+                    consecutiveFailures = 0;
+                }
+                meterRegistry.counter("gateway.loadbalancer.ejections", "service", serviceId).increment();
+            }
+        }
+        
+        /**
+         * Ends a request that produced no sample, such as one the client cancelled.
+         */
+        public void abandon() {
+            inFlight.decrementAndGet();
+        }
+        
+        private synchronized boolean isEjected(long now) {
+            if (ejectedUntil == 0) {
+                return false;
+            }
+            if (now - ejectedUntil < 0) {
+                return true;
+            }
+            // Back in rotation: ramp up again, and forget the latency it had before it failed
+            ejectedUntil = 0;
+            warmingSince = now;
+            peakEwma = 0;
+            return false;
+        }
+        
+        public int getInFlight() {
+            return inFlight.get();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.smartcampus.gateway.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Power of two choices over {@link InstanceStatsRegistry}: of two instances picked at random,
+ * the one with the lower peak-EWMA cost gets the request. Comparing just two keeps every pick
+ * cheap and keeps a burst from piling onto a single "best" instance, while a slow instance
+ * still loses almost every comparison it takes part in.
+ */
+public class PeakEwmaLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+    
+    private final ObjectProvider<ServiceInstanceListSupplier> instanceListSupplier;
+    private final String serviceId;
+    private final InstanceStatsRegistry registry;
+    
+    public PeakEwmaLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> instanceListSupplier, String serviceId,
+                                InstanceStatsRegistry registry) {
+        this.instanceListSupplier = instanceListSupplier;
+        this.serviceId = serviceId;
+        this.registry = registry;
+    }
+    
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = instanceListSupplier.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::choose);
+    }
+    
+    private Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        List<ServiceInstance> available = registry.available(serviceId, instances);
+        if (available.size() == 1) {
+            return new DefaultResponse(available.get(0));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(available.size());
+        int second = random.nextInt(available.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = available.get(first);
+        ServiceInstance b = available.get(second);
+        long now = System.nanoTime();
+        return new DefaultResponse(registry.stats(a).cost(now) <= registry.stats(b).cost(now) ? a : b);
+    }
+}
\ No newline at end of file
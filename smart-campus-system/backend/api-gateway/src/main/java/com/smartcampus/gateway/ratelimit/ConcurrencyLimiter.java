@@ -0,0 +1,143 @@
+package com.smartcampus.gateway.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps the requests each route has in flight upstream, with a cap that follows the upstream's
+ * latency instead of a fixed number.
+ * <p>
+ * The limit moves by the gradient between a long-term average round trip and the latest one:
+ * while the two agree the limit grows by its square root per sample, and when latency climbs
+ * (requests queueing in the service or its database) it shrinks in proportion. Errors and
+ * timeouts cut it further. This is the gradient scheme of TCP Vegas-style limiters; entering a
+ * request is a single compare-and-set, and only the per-sample update takes the route's lock.
+ */
+@Component
+public class ConcurrencyLimiter {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${gateway.concurrency-limit.initial-limit:20}")
+    private int initialLimit;
+    
+    @Value("${gateway.concurrency-limit.min-limit:5}")
+    private int minLimit;
+    
+    @Value("${gateway.concurrency-limit.max-limit:500}")
+    private int maxLimit;
+    
+    @Value("${gateway.concurrency-limit.smoothing:0.2}")
+    private double smoothing;
+    
+    @Value("${gateway.concurrency-limit.long-window:600}")
+    private int longWindow;
+    
+    @Value("${gateway.concurrency-limit.rtt-tolerance:1.5}")
+    private double rttTolerance;
+    
+    @Value("${gateway.concurrency-limit.backoff-ratio:0.9}")
+    private double backoffRatio;
+    
+    private final ConcurrentHashMap<String, RouteLimit> routes = new ConcurrentHashMap<>();
+    
+    public RouteLimit forRoute(String route) {
+        RouteLimit limit = routes.get(route);
+        return limit != null ? limit : routes.computeIfAbsent(route, this::register);
+    }
+    
+    private RouteLimit register(String route) {
+        RouteLimit limit = new RouteLimit();
+        Gauge.builder("gateway.concurrency.limit", limit, RouteLimit::getLimit)
+                .description("Current adaptive limit on requests in flight to the route")
+                .tag("route", route)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.in.flight", limit, RouteLimit::getInFlight)
+                .description("Requests in flight to the route")
+                .tag("route", route)
+                .register(meterRegistry);
+        return limit;
+    }
+    
+    public final class RouteLimit {
+        
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile int limit = initialLimit;
+        private double estimate = initialLimit;
+        private double longRtt;
+        
+        /**
+         * Enters a request unless the route is at its limit.
+         */
+        public boolean tryAcquire() {
+            while (true) {
+                int current = inFlight.get();
+                if (current >= limit) {
+                    return false;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+        
+        /**
+         * Leaves a request entered with {@link #tryAcquire()}, feeding its round trip into the limit.
+         *
+         * @param dropped the upstream failed or timed out, which reads as overload whatever the latency
+         */
+        public void release(long rttNanos, boolean dropped) {
+            int inFlightBefore = inFlight.getAndDecrement();
+            synchronized (this) {
+                if (dropped) {
+                    estimate = Math.max(minLimit, estimate * backoffRatio);
+                } else {
+                    update(rttNanos, inFlightBefore);
+                }
+                limit = (int) estimate;
+            }
+        }
+        
+        /**
+         * Leaves a request that ended without a usable sample, such as one the client cancelled.
+         */
+        public void abandon() {
+            inFlight.decrementAndGet();
+        }
+        
+        private void update(long rttNanos, int inFlightBefore) {
+            double rtt = rttNanos;
+            if (longRtt == 0) {
+                longRtt = rtt;
+                return;
+            }
+            longRtt += (rtt - longRtt) * 2 / (longWindow + 1);
+            // Once a latency spike is over, pull the long-term average down faster than the window would
+            if (longRtt / rtt > 2) {
+                longRtt *= 0.95;
+            }
+            // With most of the limit unused the samples say nothing about how much more would fit
+            if (inFlightBefore < estimate / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / rtt));
+            double target = estimate * gradient + Math.sqrt(estimate);
+            estimate = Math.max(minLimit, Math.min(maxLimit, estimate * (1 - smoothing) + target * smoothing));
+        }
+        
+        public int getLimit() {
+            return limit;
+        }
+        
+        public int getInFlight() {
+            return inFlight.get();
+        }
+    }
+}
\ No newline at end of file
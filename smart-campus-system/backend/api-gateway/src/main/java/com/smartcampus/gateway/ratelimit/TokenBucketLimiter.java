@@ -0,0 +1,158 @@
+package com.smartcampus.gateway.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * In-process token buckets, one per route and caller.
+ * <p>
+ * Each bucket is a single long updated by compare-and-set (the generic cell rate algorithm): it
+ * holds the time at which the bucket will be full again, so taking a token never locks and a
+ * rejection knows exactly how long until the next token. Buckets live in a
+ * {@link ConcurrentHashMap}, whose bins already spread unrelated callers across separate locks.
+ * <p>
+ * A full bucket behaves exactly like a missing one, so buckets that have refilled are evicted on
+ * a timer without losing any state. Callers beyond {@code max-keys} share one bucket per route
+ * until eviction makes room, which keeps memory bounded however many addresses show up.
+ */
+@Component
+public class TokenBucketLimiter {
+    
+    private static final AtomicLongFieldUpdater<Bucket> FULL_AT = AtomicLongFieldUpdater.newUpdater(Bucket.class, "fullAt");
+    
+    private static final String OVERFLOW = "\u0000overflow";
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${gateway.rate-limit.replenish-rate:50}")
+    private double replenishRate;
+    
+    @Value("${gateway.rate-limit.burst:100}")
+    private int burst;
+    
+    @Value("${gateway.rate-limit.routes:}")
+    private List<String> routeLimits;
+    
+    @Value("${gateway.rate-limit.max-keys:100000}")
+    private int maxKeys;
+    
+    @Value("${gateway.rate-limit.eviction-interval:1m}")
+    private Duration evictionInterval;
+    
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, Rate> routeRates = new HashMap<>();
+    
+    private final ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "rate-limit-eviction");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private Rate defaultRate;
+    
+    @PostConstruct
+    void init() {
+        defaultRate = new Rate(replenishRate, burst);
+        // Entries look like user-service=20/40: 20 requests per second, bursts of up to 40
+        for (String limit : routeLimits) {
+            if (limit.isBlank()) {
+                continue;
+            }
+            int eq = limit.indexOf('=');
+            int slash = limit.indexOf('/', eq);
+            if (eq <= 0 || slash < 0) {
+                throw new IllegalStateException("gateway.rate-limit.routes entries must look like route-id=rate/burst: " + limit);
+            }
+            routeRates.put(limit.substring(0, eq).trim(), new Rate(
+                    Double.parseDouble(limit.substring(eq + 1, slash).trim()),
+                    Integer.parseInt(limit.substring(slash + 1).trim())));
+        }
+        
+        long period = evictionInterval.toMillis();
+        evictor.scheduleWithFixedDelay(this::evictFull, period, period, TimeUnit.MILLISECONDS);
+        Gauge.builder("gateway.ratelimit.buckets", buckets, Map::size)
+                .description("Token buckets currently held in memory")
+                .register(meterRegistry);
+    }
+    
+    @PreDestroy
+    void stop() {
+        evictor.shutdownNow();
+    }
+    
+    /**
+     * Takes a token from the caller's bucket for the route.
+     *
+     * @return 0 if the request may proceed, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String route, String caller) {
+        Rate rate = routeRates.getOrDefault(route, defaultRate);
+        long now = System.nanoTime();
+        Bucket bucket = bucket(route + '\u0000' + caller, route, now);
+        while (true) {
+            long fullAt = bucket.fullAt;
+            long next = Math.max(fullAt, now) + rate.interval();
+            long wait = next - now - rate.capacity();
+            if (wait > 0) {
+                return wait;
+            }
+            if (FULL_AT.compareAndSet(bucket, fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+    
+    public int size() {
+        return buckets.size();
+    }
+    
+    private Bucket bucket(String key, String route, long now) {
+        Bucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            return buckets.computeIfAbsent(route + OVERFLOW, ignored -> new Bucket(now));
+        }
+        return buckets.computeIfAbsent(key, ignored -> new Bucket(now));
+    }
+    
+    void evictFull() {
+        long now = System.nanoTime();
+        // A request racing the removal spends its token on the evicted bucket and the caller's
+        // next request starts from a full one: at most one extra token per eviction
+        buckets.entrySet().removeIf(entry -> entry.getValue().fullAt - now <= 0);
+    }
+    
+    private record Rate(long interval, long capacity) {
+        
+        Rate(double perSecond, int burst) {
+            this((long) (TimeUnit.SECONDS.toNanos(1) / perSecond), (long) (TimeUnit.SECONDS.toNanos(1) / perSecond) * burst);
+        }
+    }
+    
+    private static final class Bucket {
+        
+        private volatile long fullAt;
+        
+        private Bucket(long fullAt) {
+            this.fullAt = fullAt;
+        }
+    }
+}
\ No newline at end of file
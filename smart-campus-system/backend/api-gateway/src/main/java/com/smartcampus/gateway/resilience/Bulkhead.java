@@ -0,0 +1,223 @@
+package com.smartcampus.gateway.resilience;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A semaphore bulkhead per route: at most {@code max-concurrent} requests are in flight to it,
+ * and up to {@code max-queue} more wait, each for at most {@code max-wait}, before being turned
+ * away. One slow service can then only tie up its own share of the gateway.
+ * <p>
+ * Waiting never blocks a thread: a queued request is resumed by the release that frees its slot.
+ */
+@Component
+public class Bulkhead {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${gateway.resilience.bulkhead.max-concurrent:100}")
+    private int maxConcurrent;
+    
+    @Value("${gateway.resilience.bulkhead.max-queue:50}")
+    private int maxQueue;
+    
+    @Value("${gateway.resilience.bulkhead.max-wait:500ms}")
+    private Duration maxWait;
+    
+    @Value("${gateway.resilience.bulkhead.routes:}")
+    private List<String> routeLimits;
+    
+    private final Map<String, int[]> routeSizes = new HashMap<>();
+    private final ConcurrentHashMap<String, RouteBulkhead> routes = new ConcurrentHashMap<>();
+    
+    @PostConstruct
+    void init() {
+        // Entries look like course-service=20/10: 20 requests in flight, 10 more waiting
+        for (String limit : routeLimits) {
+            if (limit.isBlank()) {
+                continue;
+            }
+            int eq = limit.indexOf('=');
+            int slash = limit.indexOf('/', eq + 1);
+            if (eq < 0 || slash < 0) {
+                throw new IllegalStateException("gateway.resilience.bulkhead.routes entries must look like route-id=concurrent/queue: " + limit);
+            }
+            routeSizes.put(limit.substring(0, eq).trim(), new int[] {
+                    Integer.parseInt(limit.substring(eq + 1, slash).trim()),
+                    Integer.parseInt(limit.substring(slash + 1).trim())});
+        }
+    }
+    
+    public RouteBulkhead forRoute(String route) {
+        RouteBulkhead bulkhead = routes.get(route);
+        return bulkhead != null ? bulkhead : routes.computeIfAbsent(route, this::register);
+    }
+    
+    private RouteBulkhead register(String route) {
+        int[] sizes = routeSizes.getOrDefault(route, new int[] {maxConcurrent, maxQueue});
+        RouteBulkhead bulkhead = new RouteBulkhead(sizes[0], sizes[1]);
+        Gauge.builder("gateway.bulkhead.available", bulkhead, RouteBulkhead::getAvailable)
+                .description("Free slots in the route's bulkhead")
+                .tag("route", route)
+                .register(meterRegistry);
+        Gauge.builder("gateway.bulkhead.queued", bulkhead, RouteBulkhead::getQueued)
+                .description("Requests waiting for a slot in the route's bulkhead")
+                .tag("route", route)
+                .register(meterRegistry);
+        return bulkhead;
+    }
+    
+    /**
+     * A slot taken from a bulkhead. Releasing it more than once has no further effect.
+     */
+    public static final class Permit {
+        
+        private static final Permit REJECTED = new Permit(null);
+        
+        private final RouteBulkhead owner;
+        private final AtomicBoolean released = new AtomicBoolean();
+        
+        private Permit(RouteBulkhead owner) {
+            this.owner = owner;
+        }
+        
+        public boolean isAcquired() {
+            return owner != null;
+        }
+        
+        public void release() {
+            if (owner != null && released.compareAndSet(false, true)) {
+                owner.release();
+            }
+        }
+    }
+    
+    public final class RouteBulkhead {
+        
+        private final int queueSize;
+        private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private int available;
+        
+        private RouteBulkhead(int maxConcurrent, int queueSize) {
+            this.available = maxConcurrent;
+            this.queueSize = queueSize;
+        }
+        
+        /**
+         * Takes a slot, waiting in the queue for one if need be. Emits a permit that is not
+         * {@linkplain Permit#isAcquired() acquired} when the queue is full or the wait runs out.
+         */
+        public Mono<Permit> acquire() {
+            synchronized (this) {
+                if (available > 0) {
+                    available--;
+                    return Mono.just(new Permit(this));
+                }
+                if (queue.size() >= queueSize) {
+                    return Mono.just(Permit.REJECTED);
+                }
+            }
+            return Mono.create(sink -> {
+                Waiter waiter = new Waiter(sink);
+                synchronized (this) {
+                    // A slot may have come free since the check above
+                    if (available > 0) {
+                        available--;
+                        sink.success(new Permit(this));
+                        return;
+                    }
+                    if (queue.size() >= queueSize) {
+                        sink.success(Permit.REJECTED);
+                        return;
+                    }
+                    queue.add(waiter);
+                    queued.set(queue.size());
+                }
+                Disposable timer = Schedulers.parallel().schedule(waiter::expire, maxWait.toNanos(), TimeUnit.NANOSECONDS);
+                sink.onCancel(waiter::cancel);
+                sink.onDispose(timer);
+            });
+        }
+        
+        private void release() {
+            Waiter next;
+            synchronized (this) {
+                do {
+                    next = queue.poll();
+                    if (next == null) {
+                        available++;
+                        queued.set(0);
+                        return;
+                    }
+                } while (!next.state.compareAndSet(Waiter.WAITING, Waiter.GRANTED));
+                queued.set(queue.size());
+            }
+            // Resumed outside the lock: the waiter's request continues on this thread
+            next.sink.success(next.permit);
+        }
+        
+        private synchronized void dequeue(Waiter waiter) {
+            queue.remove(waiter);
+            queued.set(queue.size());
+        }
+        
+        public synchronized int getAvailable() {
+            return available;
+        }
+        
+        public int getQueued() {
+            return queued.get();
+        }
+        
+        private final class Waiter {
+            
+            private static final int WAITING = 0;
+            private static final int GRANTED = 1;
+            private static final int GONE = 2;
+            
+            private final MonoSink<Permit> sink;
+            private final Permit permit = new Permit(RouteBulkhead.this);
+            private final AtomicInteger state = new AtomicInteger(WAITING);
+            
+            private Waiter(MonoSink<Permit> sink) {
+                this.sink = sink;
+            }
+            
+            private void expire() {
+                if (state.compareAndSet(WAITING, GONE)) {
+                    dequeue(this);
+                    sink.success(Permit.REJECTED);
+                }
+            }
+            
+            private void cancel() {
+                if (state.compareAndSet(WAITING, GONE)) {
+                    dequeue(this);
+                } else if (state.get() == GRANTED) {
+                    // The slot was handed over as the request went away; the permit may never arrive
+                    permit.release();
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,193 @@
+package com.smartcampus.gateway.resilience;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A circuit breaker per route, so a service that is down fails requests at once instead of
+ * letting them pile up on connections and timeouts.
+ * <p>
+ * Closed, it counts failures over the last {@code window-size} calls; once at least
+ * {@code minimum-calls} have been seen and {@code failure-rate-threshold} percent of them failed,
+ * it opens and rejects everything for {@code open-duration}. It then lets {@code half-open-calls}
+ * probes through: if they all succeed it closes, and any failure opens it again. Admitting a call
+ * while closed reads one volatile field; outcomes take the route's lock.
+ */
+@Component
+public class CircuitBreaker {
+    
+    /**
+     * Returned by {@link RouteBreaker#tryAcquire()} when the call must not be made.
+     */
+    public static final long REJECTED = -1;
+    
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${gateway.resilience.circuit-breaker.window-size:50}")
+    private int windowSize;
+    
+    @Value("${gateway.resilience.circuit-breaker.minimum-calls:20}")
+    private int minimumCalls;
+    
+    @Value("${gateway.resilience.circuit-breaker.failure-rate-threshold:50}")
+    private int failureRateThreshold;
+    
+    @Value("${gateway.resilience.circuit-breaker.open-duration:30s}")
+    private Duration openDuration;
+    
+    @Value("${gateway.resilience.circuit-breaker.half-open-calls:5}")
+    private int halfOpenCalls;
+    
+    private final ConcurrentHashMap<String, RouteBreaker> routes = new ConcurrentHashMap<>();
+    
+    public RouteBreaker forRoute(String route) {
+        RouteBreaker breaker = routes.get(route);
+        return breaker != null ? breaker : routes.computeIfAbsent(route, this::register);
+    }
+    
+    private RouteBreaker register(String route) {
+        RouteBreaker breaker = new RouteBreaker(route);
+        Gauge.builder("gateway.circuit.state", breaker, b -> b.getState().ordinal())
+                .description("Circuit breaker state of the route: 0 closed, 1 half-open, 2 open")
+                .tag("route", route)
+                .register(meterRegistry);
+        return breaker;
+    }
+    
+    public final class RouteBreaker {
+        
+        private final String route;
+        // Ring of the latest outcomes while closed, true for a failure
+        private final boolean[] window = new boolean[windowSize];
+        private volatile State state = State.CLOSED;
+        // Bumped on every transition, so outcomes of calls admitted before it are ignored
+        private volatile long generation;
+        private int calls;
+        private int failures;
+        private int next;
+        private long openUntil;
+        private int probes;
+        private int probeSuccesses;
+        
+        private RouteBreaker(String route) {
+            this.route = route;
+        }
+        
+        /**
+         * Admits a call, returning a ticket to report its outcome with, or {@link #REJECTED}.
+         */
+        public long tryAcquire() {
+            long ticket = generation;
+            if (state == State.CLOSED) {
+                return ticket;
+            }
+            synchronized (this) {
+                if (state == State.OPEN) {
+                    if (System.nanoTime() - openUntil < 0) {
+                        return REJECTED;
+                    }
+                    transition(State.HALF_OPEN);
+                }
+                if (state == State.CLOSED) {
+                    return generation;
+                }
+                if (probes >= halfOpenCalls) {
+                    return REJECTED;
+                }
+                probes++;
+                return generation;
+            }
+        }
+        
+        public synchronized void onSuccess(long ticket) {
+            if (ticket != generation) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                if (++probeSuccesses >= halfOpenCalls) {
+                    transition(State.CLOSED);
+                }
+                return;
+            }
+            record(false);
+        }
+        
+        public synchronized void onFailure(long ticket) {
+            if (ticket != generation) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                transition(State.OPEN);
+                return;
+            }
+            record(true);
+            if (calls >= minimumCalls && failures * 100 >= calls * failureRateThreshold) {
+                transition(State.OPEN);
+            }
+        }
+        
+        /**
+         * Ends a call that says nothing about the upstream, such as one the client cancelled, and
+         * gives back its probe slot if it was one.
+         */
+        public synchronized void abandon(long ticket) {
+            if (ticket == generation && state == State.HALF_OPEN) {
+                probes--;
+            }
+        }
+        
+        /**
+         * Time until an open breaker lets probes through; zero when it is not open.
+         */
+        public synchronized long retryAfterNanos() {
+            return state == State.OPEN ? Math.max(0, openUntil - System.nanoTime()) : 0;
+        }
+        
+        public State getState() {
+            return state;
+        }
+        
+        private void record(boolean failure) {
+            if (calls == window.length) {
+                if (window[next]) {
+                    failures--;
+                }
+            } else {
+                calls++;
+            }
+            window[next] = failure;
+            if (failure) {
+                failures++;
+            }
+            next = (next + 1) % window.length;
+        }
+        
+        private void transition(State to) {
+            State from = state;
+            calls = 0;
+            failures = 0;
+            next = 0;
+            probes = 0;
+            probeSuccesses = 0;
+            if (to == State.OPEN) {
+                openUntil = System.nanoTime() + openDuration.toNanos();
+            }
+            generation++;
+            state = to;
+            meterRegistry.counter("gateway.circuit.transitions", "route", route,
+                    "from", from.name().toLowerCase(Locale.ROOT), "to", to.name().toLowerCase(Locale.ROOT)).increment();
+        }
+    }
+}
\ No newline at end of file
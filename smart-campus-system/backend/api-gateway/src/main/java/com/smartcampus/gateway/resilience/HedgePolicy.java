@@ -0,0 +1,114 @@
+package com.smartcampus.gateway.resilience;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides when an idempotent GET on a hedged route gets a second, parallel attempt: once the
+ * first has been outstanding for the route's recent p95 latency, so only the slowest few percent
+ * of requests are duplicated.
+ * <p>
+ * Hedges are paid for from a budget that every request tops up by {@code max-percent} of a hedge,
+ * capped at {@code burst}, so a slow upstream can never be sent more than that share of extra load.
+ */
+@Component
+public class HedgePolicy {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${gateway.resilience.hedging.routes:}")
+    private List<String> hedgedRoutes;
+    
+    @Value("${gateway.resilience.hedging.max-percent:10}")
+    private double maxPercent;
+    
+    @Value("${gateway.resilience.hedging.burst:10}")
+    private double burst;
+    
+    @Value("${gateway.resilience.hedging.min-delay:5ms}")
+    private Duration minDelay;
+    
+    @Value("${gateway.resilience.hedging.min-samples:20}")
+    private long minSamples;
+    
+    private final ConcurrentHashMap<String, RouteHedge> routes = new ConcurrentHashMap<>();
+    
+    public boolean isHedged(String route) {
+        return hedgedRoutes.contains(route);
+    }
+    
+    public RouteHedge forRoute(String route) {
+        RouteHedge hedge = routes.get(route);
+        return hedge != null ? hedge : routes.computeIfAbsent(route, RouteHedge::new);
+    }
+    
+    public final class RouteHedge {
+        
+        private final String route;
+        private final Timer latency;
+        private double tokens = burst;
+        
+        private RouteHedge(String route) {
+            this.route = route;
+            this.latency = Timer.builder("gateway.hedging.latency")
+                    .description("Time to response headers of hedged routes, whose p95 is the hedge delay")
+                    .tag("route", route)
+                    .publishPercentiles(0.95)
+                    .register(meterRegistry);
+        }
+        
+        /**
+         * How long to wait for the first attempt before sending a hedge, or -1 to send none because
+         * too few responses have been seen to tell what slow is.
+         */
+        public long delayNanos() {
+            HistogramSnapshot snapshot = latency.takeSnapshot();
+            ValueAtPercentile[] percentiles = snapshot.percentileValues();
+            if (snapshot.count() < minSamples || percentiles.length == 0) {
+                return -1;
+            }
+            return Math.max(minDelay.toNanos(), (long) percentiles[0].value(TimeUnit.NANOSECONDS));
+        }
+        
+        /**
+         * Adds this request's share to the budget.
+         */
+        public synchronized void onRequest() {
+            tokens = Math.min(burst, tokens + maxPercent / 100);
+        }
+        
+        /**
+         * Takes one hedge from the budget, or counts it as skipped when the budget is spent.
+         */
+        public boolean tryHedge() {
+            boolean allowed;
+            synchronized (this) {
+                allowed = tokens >= 1;
+                if (allowed) {
+                    tokens--;
+                }
+            }
+            meterRegistry.counter("gateway.hedging.attempts", "route", route, "outcome", allowed ? "sent" : "over-budget").increment();
+            return allowed;
+        }
+        
+        public void onHedgeWon() {
+            meterRegistry.counter("gateway.hedging.attempts", "route", route, "outcome", "won").increment();
+        }
+        
+        public void record(long latencyNanos) {
+            latency.record(latencyNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,118 @@
+package com.smartcampus.gateway.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.text.ParseException;
+
+/**
+ * Verifies each distinct bearer token once and answers repeats from {@link VerifiedTokenCache},
+ * so a cache hit never leaves the event loop. Misses are verified against the realm keys held by
+ * {@link JwksKeySource}; only a token naming a key id we don't hold yet waits on a key re-fetch,
+ * and that wait runs on the bounded-elastic scheduler.
+ */
+@Component
+public class CachingReactiveJwtDecoder implements ReactiveJwtDecoder {
+    
+    @Autowired
+    private JwksKeySource keySource;
+    
+    @Autowired
+    private VerifiedTokenCache cache;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri:}")
+    private String issuerUri;
+    
+    private NimbusJwtDecoder decoder;
+    private Counter cached;
+    private Counter verified;
+    private Counter rejected;
+    
+    @PostConstruct
+    void init() {
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, keySource));
+        // Claims are checked by the Spring validators instead, as NimbusJwtDecoder does by default
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(issuerUri.isBlank()
+                ? JwtValidators.createDefault()
+                : JwtValidators.createDefaultWithIssuer(issuerUri));
+        
+        cached = decodes("cached");
+        verified = decodes("verified");
+        rejected = decodes("rejected");
+        Gauge.builder("security.jwt.cache.size", cache, VerifiedTokenCache::size)
+                .description("Verified tokens held in the token cache")
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public Mono<Jwt> decode(String token) throws JwtException {
+        Jwt hit = cache.get(token);
+        if (hit != null) {
+            cached.increment();
+            return Mono.just(hit);
+        }
+        String keyId = keyId(token);
+        Mono<Void> keys = keyId != null && !keySource.hasKey(keyId)
+                ? Mono.fromRunnable(keySource::refreshForUnknownKey).subscribeOn(Schedulers.boundedElastic()).then()
+                : Mono.empty();
+        return keys.then(Mono.fromCallable(() -> verify(token)));
+    }
+    
+    private Jwt verify(String token) {
+        Jwt jwt;
+        try {
+            jwt = decoder.decode(token);
+        } catch (JwtException e) {
+            rejected.increment();
+            throw e;
+        }
+        verified.increment();
+        cache.put(token, jwt);
+        return jwt;
+    }
+    
+    // Malformed tokens return null here and get their proper error from the decoder
+    private static String keyId(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        try {
+            return JWSHeader.parse(new Base64URL(token.substring(0, dot))).getKeyID();
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+    
+    private Counter decodes(String result) {
+        return Counter.builder("security.jwt.decodes")
+                .description("Bearer tokens decoded, by whether verification was needed")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
\ No newline at end of file
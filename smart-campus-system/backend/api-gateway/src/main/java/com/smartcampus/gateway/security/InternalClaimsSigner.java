@@ -0,0 +1,64 @@
+package com.smartcampus.gateway.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Re-signs the claims of a token the gateway has verified with the secret shared with the
+ * downstream services, for the {@value #HEADER} header. Checking that HMAC is far cheaper for
+ * user-service than verifying the realm's RSA signature again.
+ * <p>
+ * The signature is deterministic, so the same bearer token always yields the same header value
+ * and downstream token caches hit just as they would on the original token.
+ */
+@Component
+public class InternalClaimsSigner {
+    
+    public static final String HEADER = "X-Internal-Claims";
+    
+    @Value("${gateway.internal-claims.secret:}")
+    private String secret;
+    
+    private MACSigner signer;
+    
+    @PostConstruct
+    void init() throws JOSEException {
+        if (secret.isBlank()) {
+            return;
+        }
+        byte[] key = secret.getBytes(StandardCharsets.UTF_8);
+        if (key.length < 32) {
+            throw new IllegalStateException("gateway.internal-claims.secret must be at least 32 bytes");
+        }
+        signer = new MACSigner(key);
+    }
+    
+    public boolean isEnabled() {
+        return signer != null;
+    }
+    
+    public String sign(Jwt jwt) {
+        JWTClaimsSet.Builder claims = new JWTClaimsSet.Builder();
+        // Nimbus only writes timestamps as NumericDate when they are Dates
+        jwt.getClaims().forEach((name, value) -> claims.claim(name, value instanceof Instant instant ? Date.from(instant) : value));
+        SignedJWT signed = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims.build());
+        try {
+            signed.sign(signer);
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Could not sign internal claims", e);
+        }
+        return signed.serialize();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.smartcampus.gateway.security;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verification keys for incoming JWTs, held in memory so no request waits on Keycloak.
+ * <p>
+ * Keys come from {@code jwks-file} when it is set (a local key pair, no Keycloak needed), and
+ * otherwise straight from the realm's JWK set URI, without OIDC discovery. The last fetched set
+ * is written to {@code cache-file} and read back at startup, so a restarted instance verifies
+ * tokens before its first fetch completes. The set is refreshed in the background, and early
+ * when a token names a key id we don't hold, which is how a Keycloak key rotation shows up.
+ */
+@Component
+public class JwksKeySource implements JWKSource<SecurityContext> {
+    
+    private static final Logger log = LoggerFactory.getLogger(JwksKeySource.class);
+    
+    private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(5);
+    
+    @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri:}")
+    private String jwkSetUri;
+    
+    @Value("${gateway.jwt.jwks-file:}")
+    private String jwksFile;
+    
+    @Value("${gateway.jwt.cache-file:}")
+    private String cacheFile;
+    
+    @Value("${gateway.jwt.refresh-interval:5m}")
+    private Duration refreshInterval;
+    
+    @Value("${gateway.jwt.unknown-key-refresh-interval:30s}")
+    private Duration unknownKeyRefreshInterval;
+    
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(FETCH_TIMEOUT).build();
+    
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "jwks-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private volatile JWKSet keys = new JWKSet();
+    private long lastRefresh;
+    
+    @PostConstruct
+    void init() {
+        if (jwksFile.isBlank() && jwkSetUri.isBlank()) {
+            log.warn("Neither jwk-set-uri nor gateway.jwt.jwks-file is set; every JWT will be rejected");
+            return;
+        }
+        if (jwksFile.isBlank() && !cacheFile.isBlank() && Files.isReadable(Path.of(cacheFile))) {
+            try {
+                keys = JWKSet.load(Path.of(cacheFile).toFile());
+                log.info("Loaded {} cached JWKs from {}", keys.getKeys().size(), cacheFile);
+            } catch (IOException | ParseException e) {
+                log.warn("Ignoring unreadable JWK cache file {}", cacheFile, e);
+            }
+        }
+        if (keys.getKeys().isEmpty()) {
+            // Nothing to verify with yet: fetch before the first request arrives
+            refresh();
+        } else {
+            refresher.execute(this::refresh);
+        }
+        long period = refreshInterval.toMillis();
+        refresher.scheduleWithFixedDelay(this::refresh, period, period, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    void stop() {
+        refresher.shutdownNow();
+    }
+    
+    @Override
+    public List<JWK> get(JWKSelector selector, SecurityContext context) {
+        return selector.select(keys);
+    }
+    
+    public boolean hasKey(String keyId) {
+        return keys.getKeyByKeyId(keyId) != null;
+    }
+    
+    /**
+     * Re-reads the key set for a token signed with a key we don't hold, at most once per
+     * {@code unknown-key-refresh-interval} so a stream of forged key ids can't hammer Keycloak.
+     */
+    public void refreshForUnknownKey() {
+        synchronized (this) {
+            if (System.nanoTime() - lastRefresh < unknownKeyRefreshInterval.toNanos()) {
+                return;
+            }
+        }
+        refresh();
+    }
+    
+    public synchronized void refresh() {
+        lastRefresh = System.nanoTime();
+        try {
+            JWKSet loaded = jwksFile.isBlank() ? fetch() : JWKSet.load(Path.of(jwksFile).toFile());
+            keys = loaded.toPublicJWKSet();
+            if (jwksFile.isBlank() && !cacheFile.isBlank()) {
+                store(keys);
+            }
+        } catch (IOException | ParseException e) {
+            log.warn("Could not refresh the JWK set, keeping {} known keys", keys.getKeys().size(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private JWKSet fetch() throws IOException, InterruptedException, ParseException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(jwkSetUri)).timeout(FETCH_TIMEOUT).GET().build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("JWK set request to " + jwkSetUri + " returned " + response.statusCode());
+        }
+        return JWKSet.parse(response.body());
+    }
+    
+    // Written to a sibling file first, so a crash mid-write never leaves a truncated cache behind
+    private void store(JWKSet set) throws IOException {
+        Path target = Path.of(cacheFile).toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path partial = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.writeString(partial, set.toString());
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
\ No newline at end of file
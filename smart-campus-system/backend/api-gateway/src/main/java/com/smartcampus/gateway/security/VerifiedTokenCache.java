@@ -0,0 +1,82 @@
+package com.smartcampus.gateway.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Bounded LRU of JWTs that already passed verification, keyed by the SHA-256 of the token.
+ * An entry lives until the token's {@code exp}, capped at {@code max-ttl}, so a cached token is
+ * never accepted after verification would have rejected it.
+ */
+@Component
+public class VerifiedTokenCache {
+    
+    @Value("${gateway.jwt.token-cache.max-size:100000}")
+    private int maxSize;
+    
+    @Value("${gateway.jwt.token-cache.max-ttl:10m}")
+    private Duration maxTtl;
+    
+    private final LinkedHashMap<ByteBuffer, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    
+    public Jwt get(String token) {
+        ByteBuffer key = hash(token);
+        Instant now = Instant.now();
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (!entry.expiresAt().isAfter(now)) {
+                entries.remove(key);
+                return null;
+            }
+            // A digest match on a different token is practically impossible, but cheap to rule out
+            return entry.jwt().getTokenValue().equals(token) ? entry.jwt() : null;
+        }
+    }
+    
+    public void put(String token, Jwt jwt) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(maxTtl);
+        if (jwt.getExpiresAt() != null && jwt.getExpiresAt().isBefore(expiresAt)) {
+            expiresAt = jwt.getExpiresAt();
+        }
+        if (!expiresAt.isAfter(now)) {
+            return;
+        }
+        ByteBuffer key = hash(token);
+        synchronized (this) {
+            entries.put(key, new Entry(jwt, expiresAt));
+            Iterator<ByteBuffer> eldest = entries.keySet().iterator();
+            while (entries.size() > maxSize && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+    
+    public synchronized int size() {
+        return entries.size();
+    }
+    
+    private static ByteBuffer hash(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    private record Entry(Jwt jwt, Instant expiresAt) {}
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.smartcampus.benchmarks;
+
+import com.smartcampus.courseservice.CourseServiceApplication;
+import com.smartcampus.courseservice.service.CourseCatalog;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Boots course-service against a private in-memory H2 database in MySQL mode, migrated by
+ * course-service's Flyway scripts, and seeds it with synthetic courses spread over departments,
+ * terms and instructors. Like {@link UserServiceFixture}, only the web layer and Eureka are
+ * left out.
+ */
+public final class CourseServiceFixture implements AutoCloseable {
+    
+    private static final String INSERT_SQL = "INSERT INTO courses (course_code, course_name, description, credits, "
+            + "department, instructor_id, max_students, current_enrollment, is_active, semester, academic_year, "
+            + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?, ?, ?)";
+    
+    private static final String[] DEPARTMENTS = {
+            "Computer Science", "Mathematics", "Physics", "Chemistry", "Biology",
+            "Economics", "History", "Philosophy", "Engineering", "Literature"
+    };
+    
+    private static final String[] SEMESTERS = {"Fall", "Spring", "Summer"};
+    
+    private static final String H2_OPTIONS = "MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1";
+    
+    private final ConfigurableApplicationContext context;
+    
+    private CourseServiceFixture(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+    
+    public static CourseServiceFixture start(int courses) {
+        return start(courses, Map.of());
+    }
+    
+    /**
+     * Same as {@link #start(int)} with extra Spring properties, which take precedence over the fixture's own.
+     */
+    public static CourseServiceFixture start(int courses, Map<String, Object> properties) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(CourseServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(Map.of(
+                        "spring.main.banner-mode", "off",
+                        "spring.datasource.url", "jdbc:h2:mem:" + UUID.randomUUID() + ";" + H2_OPTIONS,
+                        "spring.flyway.locations", "classpath:db/migration/course-service",
+                        "spring.jpa.hibernate.ddl-auto", "none",
+                        "spring.jpa.open-in-view", "false",
+                        "spring.cloud.service-registry.auto-registration.enabled", "false",
+                        "spring.autoconfigure.exclude", "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration",
+                        "logging.level.root", "WARN"))
+                .properties(properties)
+                .run();
+        CourseServiceFixture fixture = new CourseServiceFixture(context);
+        fixture.seed(courses);
+        return fixture;
+    }
+    
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+    
+    private void seed(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Timestamp updatedAt = Timestamp.valueOf(now.minusMinutes(count - i));
+            rows.add(new Object[] {
+                    String.format("C%05d", i), "Course " + i, "Synthetic course " + i, 1 + i % 5,
+                    DEPARTMENTS[i % DEPARTMENTS.length], 1L + i % 400, 30 + i % 170,
+                    i % 10 != 0, SEMESTERS[i % SEMESTERS.length], String.valueOf(2020 + i % 6),
+                    updatedAt, updatedAt
+            });
+        }
+        bean(JdbcTemplate.class).batchUpdate(INSERT_SQL, rows);
+        
+        // The catalog loaded the empty table at startup
+        bean(CourseCatalog.class).reload();
+    }
+    
+    @Override
+    public void close() {
+        context.close();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.smartcampus.benchmarks;
+
+import com.smartcampus.gateway.ratelimit.ConcurrencyLimiter;
+import com.smartcampus.gateway.ratelimit.TokenBucketLimiter;
+import com.smartcampus.gateway.resilience.Bulkhead;
+import com.smartcampus.gateway.resilience.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the gateway's admission control: a token taken from the caller's bucket,
+ * a slot entered and left in the route's adaptive concurrency limit, and a pass through the
+ * route's circuit breaker and bulkhead, from several threads at once over a pool of distinct
+ * callers. {@code limited} runs callers far over their rate, so most requests take the rejection
+ * path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class GatewayAdmissionBenchmark {
+    
+    private static final String ROUTE = "user-service";
+    
+    @Param({"1000", "100000"})
+    private int callers;
+    
+    @Param({"false", "true"})
+    private boolean limited;
+    
+    private AnnotationConfigApplicationContext context;
+    private TokenBucketLimiter rateLimiter;
+    private ConcurrencyLimiter.RouteLimit routeLimit;
+    private CircuitBreaker.RouteBreaker breaker;
+    private Bulkhead.RouteBulkhead bulkhead;
+    private String[] callerIds;
+    
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext();
+        context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "gateway.rate-limit.replenish-rate", limited ? "1" : "1000000000",
+                "gateway.rate-limit.burst", limited ? "1" : "1000000",
+                "gateway.rate-limit.max-keys", Integer.toString(callers * 2),
+                "gateway.concurrency-limit.max-limit", "100000",
+                "gateway.concurrency-limit.initial-limit", "1000")));
+        context.registerBean(SimpleMeterRegistry.class);
+        context.register(TokenBucketLimiter.class, ConcurrencyLimiter.class, CircuitBreaker.class, Bulkhead.class);
+        context.refresh();
+        rateLimiter = context.getBean(TokenBucketLimiter.class);
+        routeLimit = context.getBean(ConcurrencyLimiter.class).forRoute(ROUTE);
+        breaker = context.getBean(CircuitBreaker.class).forRoute(ROUTE);
+        bulkhead = context.getBean(Bulkhead.class).forRoute(ROUTE);
+        
+        callerIds = new String[callers];
+        for (int i = 0; i < callers; i++) {
+            callerIds[i] = "10." + (i >> 16 & 0xff) + "." + (i >> 8 & 0xff) + "." + (i & 0xff);
+        }
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public long takeToken() {
+        return rateLimiter.tryAcquire(ROUTE, callerIds[ThreadLocalRandom.current().nextInt(callers)]);
+    }
+    
+    @Benchmark
+    public boolean enterAndLeaveRoute() {
+        boolean entered = routeLimit.tryAcquire();
+        if (entered) {
+            routeLimit.release(2_000_000, false);
+        }
+        return entered;
+    }
+    
+    @Benchmark
+    public boolean passBreakerAndBulkhead() {
+        long ticket = breaker.tryAcquire();
+        if (ticket == CircuitBreaker.REJECTED) {
+            return false;
+        }
+        Bulkhead.Permit permit = bulkhead.acquire().block();
+        if (!permit.isAcquired()) {
+            breaker.abandon(ticket);
+            return false;
+        }
+        permit.release();
+        breaker.onSuccess(ticket);
+        return true;
+    }
+    
+    @Benchmark
+    public boolean admit() {
+        if (rateLimiter.tryAcquire(ROUTE, callerIds[ThreadLocalRandom.current().nextInt(callers)]) != 0) {
+            return false;
+        }
+        return enterAndLeaveRoute();
+    }
+}
\ No newline at end of file
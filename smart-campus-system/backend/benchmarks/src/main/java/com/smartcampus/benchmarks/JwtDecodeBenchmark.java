@@ -0,0 +1,102 @@
+package com.smartcampus.benchmarks;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.SignedJWT;
+import com.smartcampus.userservice.security.CachingJwtDecoder;
+import com.smartcampus.userservice.security.JwksKeySource;
+import com.smartcampus.userservice.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of accepting a bearer token in user-service: a full RS256 verification against the local
+ * JWK set, a repeat of the same token answered by the token cache, and the HS256 internal-claims
+ * token api-gateway forwards after it has verified the caller.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtDecodeBenchmark {
+    
+    private static final String INTERNAL_SECRET = "benchmark-internal-claims-secret-0123456789";
+    
+    private Path keys;
+    private AnnotationConfigApplicationContext context;
+    private CachingJwtDecoder decoder;
+    private String realmToken;
+    private String internalToken;
+    
+    @Setup
+    public void setUp() throws Exception {
+        keys = Files.createTempDirectory("jwt-bench");
+        RSAKey key = LocalJwtIssuer.keyPair(keys);
+        realmToken = LocalJwtIssuer.issue(key, LocalJwtIssuer.DEFAULT_ISSUER, "bench-user", "openid profile", Duration.ofHours(1));
+        SignedJWT internal = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), SignedJWT.parse(realmToken).getJWTClaimsSet());
+        internal.sign(new MACSigner(INTERNAL_SECRET.getBytes(StandardCharsets.UTF_8)));
+        internalToken = internal.serialize();
+        
+        context = new AnnotationConfigApplicationContext();
+        context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "spring.security.oauth2.resourceserver.jwt.issuer-uri", LocalJwtIssuer.DEFAULT_ISSUER,
+                "user-service.jwt.jwks-file", keys.resolve("jwks.json").toString(),
+                "user-service.internal-claims.secret", INTERNAL_SECRET)));
+        context.registerBean(SimpleMeterRegistry.class);
+        context.register(JwksKeySource.class, VerifiedTokenCache.class, CachingJwtDecoder.class);
+        context.refresh();
+        decoder = context.getBean(CachingJwtDecoder.class);
+    }
+    
+    @TearDown
+    public void tearDown() throws Exception {
+        context.close();
+        try (var files = Files.list(keys)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(keys);
+    }
+    
+    @Benchmark
+    public Jwt verifyRealmToken() {
+        return decoder.verify(realmToken);
+    }
+    
+    @Benchmark
+    public Jwt cachedRealmToken() {
+        return decoder.decode(realmToken);
+    }
+    
+    @Benchmark
+    public Jwt verifyInternalClaims() {
+        return decoder.verify(internalToken);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,283 @@
+package com.smartcampus.benchmarks;
+
+import com.smartcampus.gateway.loadbalancer.InstanceStatsRegistry;
+import com.smartcampus.gateway.loadbalancer.PeakEwmaLoadBalancer;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares round robin with the gateway's {@link PeakEwmaLoadBalancer} over stub instances on
+ * localhost, each serving a fixed number of requests at a time: several fast ones, one that is
+ * consistently slow, one that stalls periodically as if in a GC pause, and one that answers every
+ * request with a 503. Closed-loop clients pick an instance through the balancer under test and
+ * call it directly, feeding the outcome back the way {@code LoadBalancerStatsFilter} does in the
+ * gateway. Prints latency percentiles, errors and each instance's share per strategy.
+ * <p>
+ * Arguments are {@code key=value}: {@code clients}, {@code duration} and {@code warmup}.
+ */
+public final class LoadBalancerSimulation {
+    
+    private static final String SERVICE_ID = "user-service";
+    
+    // Requests each stub instance serves concurrently; more queue up in front of it
+    private static final int INSTANCE_THREADS = 4;
+    
+    private LoadBalancerSimulation() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        int clients = Integer.parseInt(options.getOrDefault("clients", "48"));
+        Duration duration = DurationStyle.detectAndParse(options.getOrDefault("duration", "20s"));
+        Duration warmup = DurationStyle.detectAndParse(options.getOrDefault("warmup", "5s"));
+        
+        Map<String, Stub> stubs = new LinkedHashMap<>();
+        for (int i = 1; i <= 4; i++) {
+            stubs.put("fast-" + i, new Stub(Duration.ofMillis(10), Duration.ZERO, 200));
+        }
+        stubs.put("slow", new Stub(Duration.ofMillis(60), Duration.ZERO, 200));
+        stubs.put("pausing", new Stub(Duration.ofMillis(10), Duration.ofMillis(400), 200));
+        stubs.put("failing", new Stub(Duration.ofMillis(1), Duration.ZERO, 503));
+        
+        List<ServiceInstance> instances = new ArrayList<>();
+        Map<Integer, String> names = new LinkedHashMap<>();
+        List<HttpServer> servers = new ArrayList<>();
+        for (Map.Entry<String, Stub> stub : stubs.entrySet()) {
+            HttpServer server = stub.getValue().start();
+            servers.add(server);
+            int port = server.getAddress().getPort();
+            names.put(port, stub.getKey());
+            instances.add(new DefaultServiceInstance(stub.getKey(), SERVICE_ID, "localhost", port, false));
+        }
+        
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        System.out.printf("%d clients over %s, measured for %s after %s warmup%n", clients, stubs.keySet(), duration, warmup);
+        System.out.printf("%-12s %8s %9s %9s %9s %9s %9s %7s  %s%n", "balancer", "req/s", "p50 ms", "p90 ms",
+                "p99 ms", "p99.9 ms", "max ms", "errors", "share");
+        try {
+            ObjectProvider<ServiceInstanceListSupplier> supplier =
+                    ServiceInstanceListSuppliers.toProvider(SERVICE_ID, instances.toArray(ServiceInstance[]::new));
+            run("round-robin", new RoundRobinLoadBalancer(supplier, SERVICE_ID), null, http, names, clients, warmup, duration);
+            
+            try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+                context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+                // Every stub starts together, so slow start would scale all of them alike; keep it short
+                context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("simulation",
+                        Map.of("gateway.load-balancer.slow-start", "1s")));
+                context.registerBean(SimpleMeterRegistry.class);
+                context.register(InstanceStatsRegistry.class);
+                context.refresh();
+                InstanceStatsRegistry registry = context.getBean(InstanceStatsRegistry.class);
+                run("peak-ewma", new PeakEwmaLoadBalancer(supplier, SERVICE_ID, registry), registry, http, names, clients, warmup, duration);
+                System.out.printf("%nejections: %.0f%n", context.getBean(MeterRegistry.class)
+                        .counter("gateway.loadbalancer.ejections", "service", SERVICE_ID).count());
+            }
+        } finally {
+            servers.forEach(server -> server.stop(0));
+        }
+    }
+    
+    private static void run(String name, ReactorServiceInstanceLoadBalancer balancer, InstanceStatsRegistry registry,
+                            HttpClient http, Map<Integer, String> names, int clients, Duration warmup,
+                            Duration duration) throws InterruptedException {
+        drive(balancer, registry, http, clients, warmup);
+        Result result = drive(balancer, registry, http, clients, duration);
+        StringBuilder share = new StringBuilder();
+        names.forEach((port, instance) -> {
+            LongAdder count = result.perPort().get(port);
+            share.append(String.format("%s %.1f%%  ", instance,
+                    100.0 * (count != null ? count.sum() : 0) / (result.latencies().length + result.errors())));
+        });
+        System.out.printf("%-12s %8.0f %9.2f %9.2f %9.2f %9.2f %9.2f %7d  %s%n", name, result.throughput(),
+                result.percentile(0.50), result.percentile(0.90), result.percentile(0.99), result.percentile(0.999),
+                result.percentile(1.0), result.errors(), share.toString().trim());
+    }
+    
+    private static Result drive(ReactorServiceInstanceLoadBalancer balancer, InstanceStatsRegistry registry,
+                                HttpClient http, int clients, Duration duration) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        Map<Integer, LongAdder> perPort = new ConcurrentHashMap<>();
+        List<Client> running = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            Client client = new Client(balancer, registry, http, perPort);
+            running.add(client);
+            Thread thread = new Thread(() -> client.run(deadline), "client-" + i);
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        
+        int total = running.stream().mapToInt(client -> client.count).sum();
+        long[] latencies = new long[total];
+        int offset = 0;
+        long errors = 0;
+        for (Client client : running) {
+            System.arraycopy(client.latencies, 0, latencies, offset, client.count);
+            offset += client.count;
+            errors += client.errors;
+        }
+        Arrays.sort(latencies);
+        return new Result(latencies, errors, seconds, perPort);
+    }
+    
+    private record Result(long[] latencies, long errors, double seconds, Map<Integer, LongAdder> perPort) {
+        
+        double throughput() {
+            return latencies.length / seconds;
+        }
+        
+        double percentile(double p) {
+            if (latencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(p * latencies.length) - 1;
+            return latencies[Math.max(index, 0)] / 1e6;
+        }
+    }
+    
+    /**
+     * An upstream instance that takes {@code latency} per request and, if {@code pause} is set,
+     * stops serving for that long every two seconds.
+     */
+    private record Stub(Duration latency, Duration pause, int status) {
+        
+        private static final long PAUSE_PERIOD_NANOS = Duration.ofSeconds(2).toNanos();
+        
+        HttpServer start() throws Exception {
+            long started = System.nanoTime();
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+            // Daemon workers, since HttpServer.stop leaves its executor running
+            server.setExecutor(Executors.newFixedThreadPool(INSTANCE_THREADS, task -> {
+                Thread worker = new Thread(task);
+                worker.setDaemon(true);
+                return worker;
+            }));
+            server.createContext("/", exchange -> {
+                try {
+                    long intoPeriod = (System.nanoTime() - started) % PAUSE_PERIOD_NANOS;
+                    if (intoPeriod < pause.toNanos()) {
+                        Thread.sleep((pause.toNanos() - intoPeriod) / 1_000_000);
+                    }
+                    Thread.sleep(latency.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                exchange.getRequestBody().readAllBytes();
+                exchange.sendResponseHeaders(status, -1);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        }
+    }
+    
+    private static final class Client {
+        
+        private final ReactorServiceInstanceLoadBalancer balancer;
+        private final InstanceStatsRegistry registry;
+        private final HttpClient http;
+        private final Map<Integer, LongAdder> perPort;
+        private long[] latencies = new long[256];
+        private int count;
+        private long errors;
+        
+        Client(ReactorServiceInstanceLoadBalancer balancer, InstanceStatsRegistry registry, HttpClient http,
+               Map<Integer, LongAdder> perPort) {
+            this.balancer = balancer;
+            this.registry = registry;
+            this.http = http;
+            this.perPort = perPort;
+        }
+        
+        void run(long deadline) {
+            while (System.nanoTime() < deadline) {
+                long sent = System.nanoTime();
+                Response<ServiceInstance> chosen = Mono.from(balancer.choose()).block();
+                ServiceInstance instance = chosen.getServer();
+                perPort.computeIfAbsent(instance.getPort(), port -> new LongAdder()).increment();
+                InstanceStatsRegistry.InstanceStats stats = registry != null ? registry.stats(instance) : null;
+                if (stats != null) {
+                    stats.start();
+                }
+                boolean failed;
+                try {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + instance.getPort() + "/users/1"))
+                            .timeout(Duration.ofSeconds(30))
+                            .GET()
+                            .build();
+                    failed = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() >= 500;
+                } catch (Exception e) {
+                    failed = true;
+                }
+                long latency = System.nanoTime() - sent;
+                if (stats != null) {
+                    if (failed) {
+                        stats.failure();
+                    } else {
+                        stats.success(latency);
+                    }
+                }
+                if (failed) {
+                    errors++;
+                } else {
+                    record(latency);
+                }
+            }
+        }
+        
+        private void record(long latency) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+        }
+    }
+}
\ No newline at end of file
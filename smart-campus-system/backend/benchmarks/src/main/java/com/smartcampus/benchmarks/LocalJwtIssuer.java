@@ -0,0 +1,104 @@
+package com.smartcampus.benchmarks;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Stands in for Keycloak when trying the JWT path locally: keeps an RSA key pair in a directory
+ * and prints an RS256 access token signed with it. Point {@code gateway.jwt.jwks-file} and
+ * {@code user-service.jwt.jwks-file} at the {@code jwks.json} it writes there.
+ * <p>
+ * Arguments are {@code key=value}: {@code dir} (default {@code target/local-jwt}), {@code sub},
+ * {@code scope}, {@code ttl} and {@code iss}, which must match the services' issuer-uri.
+ */
+public final class LocalJwtIssuer {
+    
+    static final String DEFAULT_ISSUER = "http://localhost:8090/realms/smartcampus";
+    
+    private LocalJwtIssuer() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        Path dir = Path.of(options.getOrDefault("dir", "target/local-jwt"));
+        RSAKey key = keyPair(dir);
+        String token = issue(key,
+                options.getOrDefault("iss", DEFAULT_ISSUER),
+                options.getOrDefault("sub", "local-admin"),
+                options.getOrDefault("scope", "openid profile"),
+                DurationStyle.detectAndParse(options.getOrDefault("ttl", "1h")));
+        System.err.println("JWK set: " + dir.resolve("jwks.json").toAbsolutePath());
+        System.out.println(token);
+    }
+    
+    /**
+     * The key pair stored in {@code dir}, created on first use. The private key stays in
+     * {@code private-jwk.json}; {@code jwks.json} holds only the public half.
+     */
+    static RSAKey keyPair(Path dir) throws Exception {
+        Path privateKey = dir.resolve("private-jwk.json");
+        if (Files.isReadable(privateKey)) {
+            return RSAKey.parse(Files.readString(privateKey));
+        }
+        RSAKey key = new RSAKeyGenerator(2048)
+                .keyID(UUID.randomUUID().toString())
+                .keyUse(KeyUse.SIGNATURE)
+                .algorithm(JWSAlgorithm.RS256)
+                .generate();
+        Files.createDirectories(dir);
+        Files.writeString(privateKey, key.toJSONString());
+        Files.writeString(dir.resolve("jwks.json"), new JWKSet(key).toPublicJWKSet().toString());
+        return key;
+    }
+    
+    /**
+     * An access token shaped like Keycloak's, with the fields the services look at.
+     */
+    static String issue(RSAKey key, String issuer, String subject, String scope, Duration ttl) throws JOSEException {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(issuer)
+                .subject(subject)
+                .claim("preferred_username", subject)
+                .claim("scope", scope)
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(ttl)))
+                .jwtID(UUID.randomUUID().toString())
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256)
+                .keyID(key.getKeyID())
+                .type(JOSEObjectType.JWT)
+                .build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,285 @@
+package com.smartcampus.benchmarks;
+
+import com.smartcampus.courseservice.repository.CourseRepository;
+import com.smartcampus.userservice.dto.UserSortKey;
+import com.smartcampus.userservice.dto.UserStatusFilter;
+import com.smartcampus.userservice.entity.UserRole;
+import com.smartcampus.userservice.repository.IdSequenceRepository;
+import com.smartcampus.userservice.repository.ReactiveUserRepository;
+import com.smartcampus.userservice.repository.UserRepository;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Fails when a repository query can only be answered by scanning its whole table.
+ * <p>
+ * Boots each service on a seeded H2 database built by its own Flyway migrations, calls every
+ * query method its repositories declare and runs EXPLAIN on each statement Hibernate sends for
+ * it. The keyset and bulk-status queries are called once per sort key and filter, and the
+ * native queries of {@link ReactiveUserRepository} are explained as written. H2's planner is not
+ * MySQL's, but a statement H2 can only run as a table scan has no index MySQL could use either.
+ * Queries that read every row by design are listed, with the reason, in {@link #EXPECTED_SCANS}.
+ * <p>
+ * Runs in this module's {@code verify} phase, or alone with {@code mvn compile exec:java@query-plans}.
+ */
+public final class QueryPlanCheck {
+    
+    private static final int USERS = 20_000;
+    
+    private static final int COURSES = 5_000;
+    
+    // Repository.method -> why reading every row is the intended plan
+    private static final Map<String, String> EXPECTED_SCANS = Map.of(
+            "UserRepository.findAllDtos", "lists the whole directory",
+            "UserRepository.searchUsers", "substring LIKE; the trigram index answers searches, this is its fallback",
+            "UserRepository.findByIsActive", "boolean flag that matches most rows; not called by the service");
+    
+    private static final Map<String, Object> RECORD_STATEMENTS = Map.of(
+            "spring.jpa.properties." + AvailableSettings.STATEMENT_INSPECTOR, StatementRecorder.class.getName());
+    
+    private static final Pattern NAMED_PARAMETER = Pattern.compile(":\\w+");
+    
+    private static final Pattern PLAN_COMMENT = Pattern.compile("/\\* ([^:*]+)");
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final List<String> failures;
+    private int explained;
+    
+    private QueryPlanCheck(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, List<String> failures) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.failures = failures;
+    }
+    
+    public static void main(String[] args) {
+        List<String> failures = new ArrayList<>();
+        int explained = 0;
+        
+        try (UserServiceFixture fixture = UserServiceFixture.start(USERS, RECORD_STATEMENTS)) {
+            QueryPlanCheck check = new QueryPlanCheck(fixture.bean(JdbcTemplate.class),
+                    fixture.bean(PlatformTransactionManager.class), failures);
+            check.analyze();
+            UserRepository users = fixture.bean(UserRepository.class);
+            check.declaredQueries(UserRepository.class, users);
+            check.keysetQueries(users);
+            check.statusChangeQueries(users);
+            check.declaredQueries(IdSequenceRepository.class, fixture.bean(IdSequenceRepository.class));
+            check.nativeQueries(ReactiveUserRepository.class);
+            explained += check.explained;
+        }
+        
+        try (CourseServiceFixture fixture = CourseServiceFixture.start(COURSES, RECORD_STATEMENTS)) {
+            QueryPlanCheck check = new QueryPlanCheck(fixture.bean(JdbcTemplate.class),
+                    fixture.bean(PlatformTransactionManager.class), failures);
+            check.analyze();
+            check.declaredQueries(CourseRepository.class, fixture.bean(CourseRepository.class));
+            explained += check.explained;
+        }
+        
+        System.out.printf("%d statements explained, %d unexpected full scans%n", explained, failures.size());
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Repository queries without a usable index:\n  " + String.join("\n  ", failures));
+        }
+    }
+    
+    // Selectivity statistics, so H2 weighs indexes against the seeded data instead of defaults
+    private void analyze() {
+        jdbcTemplate.execute("ANALYZE");
+    }
+    
+    /**
+     * Every query method the repository interface itself declares, called with sample arguments.
+     * Inherited CRUD methods go by primary key or read everything, so they are left out.
+     */
+    private void declaredQueries(Class<?> repositoryType, Object repository) {
+        Method[] methods = repositoryType.getDeclaredMethods();
+        Arrays.sort(methods, Comparator.comparing(Method::getName).thenComparing(Method::getParameterCount));
+        for (Method method : methods) {
+            if (method.isDefault() || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            Object[] arguments = Arrays.stream(method.getGenericParameterTypes()).map(QueryPlanCheck::sample).toArray();
+            check(repositoryType.getSimpleName() + "." + method.getName(), () -> method.invoke(repository, arguments));
+        }
+    }
+    
+    private void keysetQueries(UserRepository users) {
+        for (UserSortKey sortKey : UserSortKey.values()) {
+            Object lastKey = sortKey == UserSortKey.CREATED_AT ? LocalDateTime.now() : "sample";
+            String name = "UserRepository.findPageAfter";
+            check(name, sortKey + ", first page", () -> users.findPageAfter(sortKey, null, null, 20));
+            check(name, sortKey + ", next page", () -> users.findPageAfter(sortKey, lastKey, 1L, 20));
+            check(name, sortKey + ", after a null key", () -> users.findPageAfter(sortKey, null, 1L, 20));
+        }
+    }
+    
+    private void statusChangeQueries(UserRepository users) {
+        UserStatusFilter byRole = new UserStatusFilter();
+        byRole.setRole(UserRole.STUDENT);
+        UserStatusFilter byDepartment = new UserStatusFilter();
+        byDepartment.setDepartment("sample");
+        UserStatusFilter byYear = new UserStatusFilter();
+        byYear.setYearOfStudy(1);
+        Map<String, UserStatusFilter> filters = Map.of("role", byRole, "department", byDepartment, "yearOfStudy", byYear);
+        
+        filters.forEach((label, filter) -> {
+            check("UserRepository.countForStatusChange", label, () -> users.countForStatusChange(filter, null, false));
+            check("UserRepository.findIdsForStatusChange", label,
+                    () -> users.findIdsForStatusChange(filter, null, false, 1L, 1000));
+        });
+        check("UserRepository.countForStatusChange", "ids", () -> users.countForStatusChange(new UserStatusFilter(), List.of(1L, 2L), false));
+        check("UserRepository.findIdsForStatusChange", "ids",
+                () -> users.findIdsForStatusChange(new UserStatusFilter(), List.of(1L, 2L), false, null, 1000));
+    }
+    
+    // R2DBC repositories have no statement hook; their hand-written SQL is explained as written
+    private void nativeQueries(Class<?> repositoryType) {
+        for (Method method : repositoryType.getDeclaredMethods()) {
+            Query query = method.getAnnotation(Query.class);
+            if (query != null) {
+                String sql = NAMED_PARAMETER.matcher(query.value()).replaceAll("?");
+                String name = repositoryType.getSimpleName() + "." + method.getName();
+                explain(name, name, List.of(sql));
+            }
+        }
+    }
+    
+    private void check(String name, Callable<?> call) {
+        check(name, null, call);
+    }
+    
+    private void check(String name, String variant, Callable<?> call) {
+        // Rolled back, so modifying queries leave the seeded data as it was
+        List<String> statements = transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            StatementRecorder.start();
+            try {
+                Object result = call.call();
+                if (result instanceof Stream<?> rows) {
+                    try (rows) {
+                        rows.forEach(row -> {
+                        });
+                    }
+                }
+            } catch (Exception e) {
+                StatementRecorder.stop();
+                throw new IllegalStateException(name + " could not be called", e);
+            }
+            return StatementRecorder.stop();
+        });
+        String label = variant != null ? name + " (" + variant + ")" : name;
+        if (statements.isEmpty()) {
+            failures.add(label + ": sent no statement");
+            return;
+        }
+        explain(name, label, statements);
+    }
+    
+    private void explain(String name, String label, List<String> statements) {
+        String expected = EXPECTED_SCANS.get(name);
+        for (String sql : statements) {
+            // Inserts have no access path to check
+            if (sql.regionMatches(true, 0, "insert", 0, 6)) {
+                continue;
+            }
+            String plan = jdbcTemplate.query(connection -> connection.prepareStatement("EXPLAIN " + sql),
+                    rows -> rows.next() ? rows.getString(1) : "");
+            explained++;
+            
+            List<String> access = new ArrayList<>();
+            Matcher matcher = PLAN_COMMENT.matcher(plan);
+            while (matcher.find()) {
+                access.add(matcher.group(1).trim());
+            }
+            boolean scan = access.stream().anyMatch(path -> path.endsWith(".tableScan"));
+            String verdict = !scan ? "ok" : expected != null ? "scan" : "FULL SCAN";
+            System.out.printf("%-10s %-62s %s%n", verdict, label, String.join(", ", access));
+            if (scan && expected != null) {
+                System.out.printf("%-10s %s%n", "", expected);
+            } else if (scan) {
+                failures.add(label + ": " + sql);
+            }
+        }
+    }
+    
+    private static Object sample(Type type) {
+        if (type instanceof ParameterizedType parameterized && parameterized.getRawType() instanceof Class<?> raw
+                && Collection.class.isAssignableFrom(raw)) {
+            Object element = sample(parameterized.getActualTypeArguments()[0]);
+            return List.of(element, element);
+        }
+        if (type == String.class) {
+            return "sample";
+        }
+        if (type == Long.class || type == long.class) {
+            return 1L;
+        }
+        if (type == Integer.class || type == int.class) {
+            return 1;
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return Boolean.TRUE;
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (type == Pageable.class) {
+            return PageRequest.of(0, 20);
+        }
+        if (type == UserRole.class) {
+            return UserRole.STUDENT;
+        }
+        throw new IllegalArgumentException("No sample value for " + type.getTypeName() + "; add one so the query gets checked");
+    }
+    
+    /**
+     * Collects the SQL Hibernate prepares on the current thread between {@link #start()} and
+     * {@link #stop()}; statements from scheduled jobs on other threads are not picked up.
+     */
+    public static final class StatementRecorder implements StatementInspector {
+        
+        private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+        
+        static void start() {
+            RECORDED.set(new ArrayList<>());
+        }
+        
+        static List<String> stop() {
+            List<String> statements = RECORDED.get();
+            RECORDED.remove();
+            return statements;
+        }
+        
+        @Override
+        public String inspect(String sql) {
+            List<String> statements = RECORDED.get();
+            if (statements != null) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,190 @@
+package com.smartcampus.benchmarks;
+
+import com.smartcampus.courseservice.dto.CourseDto;
+import com.smartcampus.courseservice.dto.ReservationResult;
+import com.smartcampus.courseservice.dto.ReservationStatus;
+import com.smartcampus.courseservice.dto.SeatStatus;
+import com.smartcampus.courseservice.service.CourseCatalog;
+import com.smartcampus.courseservice.service.CourseService;
+import com.smartcampus.courseservice.service.SeatReservationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hammers {@link SeatReservationService} from many threads over a handful of active courses, with
+ * reserves and releases mixed and the courses edited, deactivated and reactivated through
+ * {@link CourseService} meanwhile, then flushes and checks every course against the database: no
+ * {@code current_enrollment} above {@code max_students}, and exactly one counted seat per student
+ * the service says holds one. Prints reservations per second.
+ * <p>
+ * Runs twice on fresh databases: once with the service owning the counters, and once with a
+ * competing writer taking seats behind its back, the way a second instance would, so that flushes
+ * are refused and holders are bumped back to the waitlist.
+ * <p>
+ * Arguments are {@code key=value}: {@code threads}, {@code courses}, {@code students} per thread
+ * and {@code duration} per run. Fails if any course is overbooked or miscounted.
+ */
+public final class SeatReservationStressTest {
+    
+    private SeatReservationStressTest() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        int threads = Integer.parseInt(options.getOrDefault("threads", "16"));
+        int courses = Integer.parseInt(options.getOrDefault("courses", "20"));
+        int students = Integer.parseInt(options.getOrDefault("students", "200"));
+        Duration duration = DurationStyle.detectAndParse(options.getOrDefault("duration", "10s"));
+        
+        System.out.printf("%d threads over %d courses, %d students per thread, %s per run%n", threads, courses, students, duration);
+        System.out.printf("%-10s %12s %10s %10s %8s %11s %11s%n", "run", "reserves/s", "reserved", "released",
+                "bumped", "overbooked", "miscounted");
+        int failures = run("owned", false, threads, courses, students, duration)
+                + run("contended", true, threads, courses, students, duration);
+        if (failures > 0) {
+            throw new IllegalStateException(failures + " course(s) overbooked or miscounted");
+        }
+    }
+    
+    private static int run(String name, boolean contended, int threads, int courseCount, int students, Duration duration)
+            throws Exception {
+        // Enough rows that the first courseCount active ones exist; inactive ones are every tenth
+        try (CourseServiceFixture fixture = CourseServiceFixture.start(courseCount * 2)) {
+            SeatReservationService service = fixture.bean(SeatReservationService.class);
+            JdbcTemplate jdbcTemplate = fixture.bean(JdbcTemplate.class);
+            List<Long> courseIds = fixture.bean(CourseCatalog.class).findAll().stream()
+                    .filter(course -> Boolean.TRUE.equals(course.getIsActive()))
+                    .limit(courseCount)
+                    .map(CourseDto::getId)
+                    .toList();
+            Map<Long, Set<Long>> touched = new ConcurrentHashMap<>();
+            Map<Long, LongAdder> external = new ConcurrentHashMap<>();
+            courseIds.forEach(id -> {
+                touched.put(id, ConcurrentHashMap.newKeySet());
+                external.put(id, new LongAdder());
+            });
+            LongAdder reserves = new LongAdder();
+            LongAdder reserved = new LongAdder();
+            LongAdder released = new LongAdder();
+            
+            ExecutorService pool = Executors.newFixedThreadPool(threads + 2);
+            long deadline = System.nanoTime() + duration.toNanos();
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long firstStudent = 1_000_000L * (t + 1);
+                workers.add(pool.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        Long courseId = courseIds.get(random.nextInt(courseIds.size()));
+                        Long studentId = firstStudent + random.nextInt(students);
+                        touched.get(courseId).add(studentId);
+                        if (random.nextInt(10) < 7) {
+                            reserves.increment();
+                            if (service.reserve(courseId, studentId).getStatus() == ReservationStatus.RESERVED) {
+                                reserved.increment();
+                            }
+                        } else if (service.release(courseId, studentId).getStatus() == ReservationStatus.RELEASED) {
+                            released.increment();
+                        }
+                    }
+                }));
+            }
+            // Course edits load and save the entity while seat deltas are being flushed under them
+            CourseService courseService = fixture.bean(CourseService.class);
+            workers.add(pool.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    Long courseId = courseIds.get(random.nextInt(courseIds.size()));
+                    if (random.nextInt(5) == 0) {
+                        courseService.deactivateCourse(courseId);
+                        courseService.activateCourse(courseId);
+                    } else {
+                        CourseDto edit = new CourseDto();
+                        edit.setDescription("Edited " + System.nanoTime());
+                        courseService.updateCourse(courseId, edit);
+                    }
+                    TimeUnit.MILLISECONDS.sleep(5);
+                }
+                return null;
+            }));
+            if (contended) {
+                // Another writer taking free seats with the same conditional update the service flushes with
+                workers.add(pool.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        Long courseId = courseIds.get(random.nextInt(courseIds.size()));
+                        int updated = jdbcTemplate.update("UPDATE courses SET current_enrollment = current_enrollment + 1 "
+                                + "WHERE id = ? AND current_enrollment + 1 <= max_students", courseId);
+                        external.get(courseId).add(updated);
+                        TimeUnit.MILLISECONDS.sleep(2);
+                    }
+                    return null;
+                }));
+            }
+            long start = System.nanoTime();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            pool.shutdown();
+            
+            // A refused flush can hand freed seats back out, which needs another flush
+            for (int i = 0; i < 10 && courseIds.stream().anyMatch(id -> service.getSeatStatus(id).getPendingWrites() != 0); i++) {
+                service.flush();
+            }
+            
+            int overbooked = 0;
+            int miscounted = 0;
+            for (Long courseId : courseIds) {
+                Map<String, Object> row = jdbcTemplate.queryForMap(
+                        "SELECT current_enrollment, max_students FROM courses WHERE id = ?", courseId);
+                int enrollment = ((Number) row.get("current_enrollment")).intValue();
+                int maxStudents = ((Number) row.get("max_students")).intValue();
+                long holders = touched.get(courseId).stream()
+                        .map(studentId -> service.status(courseId, studentId))
+                        .map(ReservationResult::getStatus)
+                        .filter(ReservationStatus.RESERVED::equals)
+                        .count();
+                SeatStatus seats = service.getSeatStatus(courseId);
+                if (enrollment > maxStudents) {
+                    overbooked++;
+                    System.out.printf("  course %d: current_enrollment %d > max_students %d%n", courseId, enrollment, maxStudents);
+                }
+                if (holders + external.get(courseId).sum() != enrollment || seats.getEnrolled() != enrollment) {
+                    miscounted++;
+                    System.out.printf("  course %d: %d holders + %d external, counter %d, current_enrollment %d%n",
+                            courseId, holders, external.get(courseId).sum(), seats.getEnrolled(), enrollment);
+                }
+            }
+            double bumped = fixture.bean(MeterRegistry.class).counter("course.reservations.bumped").count();
+            System.out.printf("%-10s %12.0f %10d %10d %8.0f %11d %11d%n", name, reserves.sum() / seconds, reserved.sum(),
+                    released.sum(), bumped, overbooked, miscounted);
+            return overbooked + miscounted;
+        }
+    }
+}
\ No newline at end of file
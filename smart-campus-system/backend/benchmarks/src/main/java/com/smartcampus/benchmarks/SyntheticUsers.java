@@ -0,0 +1,83 @@
+package com.smartcampus.benchmarks;
+
+import com.smartcampus.userservice.dto.UserDto;
+import com.smartcampus.userservice.entity.User;
+import com.smartcampus.userservice.entity.UserRole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic users, so every run of a benchmark works on the same data.
+ */
+public final class SyntheticUsers {
+    
+    private static final String[] FIRST_NAMES = {
+            "Amina", "Bruno", "Chen", "Dalia", "Elif", "Farid", "Grace", "Hugo", "Ines", "Jonas",
+            "Karim", "Lena", "Mateo", "Nadia", "Omar", "Priya", "Quentin", "Rania", "Sami", "Tara"
+    };
+    
+    private static final String[] LAST_NAMES = {
+            "Anderson", "Benali", "Costa", "Dubois", "Eriksen", "Fischer", "Garcia", "Haddad", "Ivanova", "Jensen",
+            "Kowalski", "Laurent", "Moreau", "Nguyen", "Okafor", "Petrov", "Rossi", "Schmidt", "Tanaka", "Weber"
+    };
+    
+    private static final String[] DEPARTMENTS = {
+            "Computer Science", "Mathematics", "Physics", "Chemistry", "Biology", "Economics", "History", "Engineering"
+    };
+    
+    private SyntheticUsers() {}
+    
+    public static List<User> users(int count) {
+        Random random = new Random(42);
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(user(i, random));
+        }
+        return users;
+    }
+    
+    public static List<UserDto> dtos(int count) {
+        Random random = new Random(42);
+        List<UserDto> dtos = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            dtos.add(dto(user(i, random)));
+        }
+        return dtos;
+    }
+    
+    public static String firstName(int index) {
+        return FIRST_NAMES[index % FIRST_NAMES.length];
+    }
+    
+    private static User user(int index, Random random) {
+        boolean student = random.nextInt(10) < 8;
+        User user = new User("user" + String.format("%07d", index), "user" + index + "@campus.example",
+                FIRST_NAMES[random.nextInt(FIRST_NAMES.length)], LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                student ? UserRole.STUDENT : UserRole.TEACHER);
+        user.setId((long) index + 1);
+        user.setPhoneNumber("+1-555-" + String.format("%07d", random.nextInt(10_000_000)));
+        user.setDepartment(DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]);
+        if (student) {
+            user.setStudentId(String.format("STU%06d", index + 1));
+            user.setYearOfStudy(1 + random.nextInt(5));
+        } else {
+            user.setEmployeeId(String.format("EMP%06d", index + 1));
+        }
+        user.setDateOfBirth(String.format("%d-%02d-%02d", 1960 + random.nextInt(45), 1 + random.nextInt(12), 1 + random.nextInt(28)));
+        user.setAddress(random.nextInt(400) + " Campus Road");
+        user.setIsActive(random.nextInt(20) != 0);
+        user.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(index));
+        user.setUpdatedAt(user.getCreatedAt());
+        user.setVersion(0L);
+        return user;
+    }
+    
+    private static UserDto dto(User user) {
+        return new UserDto(user.getId(), user.getUsername(), user.getEmail(), user.getFirstName(), user.getLastName(),
+                user.getPhoneNumber(), user.getRole(), user.getStudentId(), user.getEmployeeId(), user.getDepartment(),
+                user.getYearOfStudy(), user.getDateOfBirth(), user.getAddress(), user.getIsActive(), user.getVersion());
+    }
+}
\ No newline at end of file
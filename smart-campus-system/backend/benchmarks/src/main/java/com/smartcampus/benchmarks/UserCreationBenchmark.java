@@ -0,0 +1,81 @@
+package com.smartcampus.benchmarks;
+
+import com.smartcampus.userservice.dto.UserDto;
+import com.smartcampus.userservice.entity.UserRole;
+import com.smartcampus.userservice.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.AopProxyUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link UserService#createUser} end to end, and the uniqueness checks that precede the
+ * insert on their own. Every invocation uses a fresh username so the happy path is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserCreationBenchmark {
+    
+    @Param({"100000"})
+    private int users;
+    
+    private UserServiceFixture fixture;
+    private UserService userService;
+    private UserService target;
+    private MethodHandle validateUserCreation;
+    private long sequence;
+    
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        fixture = UserServiceFixture.start(users);
+        userService = fixture.bean(UserService.class);
+        // The private check runs on the target itself; each repository call opens its own transaction
+        target = (UserService) AopProxyUtils.getSingletonTarget(userService);
+        validateUserCreation = MethodHandles.privateLookupIn(UserService.class, MethodHandles.lookup())
+                .findVirtual(UserService.class, "validateUserCreation", MethodType.methodType(void.class, UserDto.class));
+    }
+    
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+    
+    @Benchmark
+    public UserDto createUser() {
+        return userService.createUser(newUser());
+    }
+    
+    @Benchmark
+    public UserDto validateUserCreation() throws Throwable {
+        UserDto user = newUser();
+        validateUserCreation.invokeExact(target, user);
+        return user;
+    }
+    
+    private UserDto newUser() {
+        long n = sequence++;
+        UserDto user = new UserDto("bench" + n, "bench" + n + "@campus.example",
+                SyntheticUsers.firstName((int) n), "Benchmark", UserRole.STUDENT);
+        user.setDepartment("Computer Science");
+        user.setYearOfStudy(1);
+        return user;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.smartcampus.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.smartcampus.userservice.dto.UserDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing {@link UserDto} lists the way the list endpoints do, with an ObjectMapper
+ * configured like Spring MVC's. Output goes to a counting sink so buffer growth is not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserJsonBenchmark {
+    
+    @Param({"1000", "10000", "100000"})
+    private int size;
+    
+    private ObjectWriter listWriter;
+    private ObjectWriter elementWriter;
+    private List<UserDto> users;
+    
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, UserDto.class));
+        elementWriter = objectMapper.writerFor(UserDto.class);
+        users = SyntheticUsers.dtos(size);
+    }
+    
+    @Benchmark
+    public long serializeList() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        listWriter.writeValue(out, users);
+        return out.count;
+    }
+    
+    // The NDJSON export path: one value per line through a single generator
+    @Benchmark
+    public long serializeNdjson() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        try (var sequence = elementWriter.withRootValueSeparator("\n").writeValues(out)) {
+            sequence.writeAll(users);
+        }
+        return out.count;
+    }
+    
+    private static final class CountingOutputStream extends OutputStream {
+        
+        private long count;
+        
+        @Override
+        public void write(int b) {
+            count++;
+        }
+        
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.smartcampus.benchmarks;
+
+import com.smartcampus.userservice.dto.UserDto;
+import com.smartcampus.userservice.entity.UserRole;
+import com.smartcampus.userservice.repository.UserRepository;
+import com.smartcampus.userservice.service.UserMapper;
+import com.smartcampus.userservice.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link UserService#getUsersByRole} and {@link UserService#getUsersByDepartment}, which select
+ * straight into DTOs, against the path they replaced: loading managed entities and mapping each
+ * one, in the same read-only transaction. Run with {@code -prof gc} to compare allocation as
+ * well as time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserListQueryBenchmark {
+    
+    private static final String DEPARTMENT = "Physics";
+    
+    @Param({"20000"})
+    private int users;
+    
+    private UserServiceFixture fixture;
+    private UserService userService;
+    private UserRepository userRepository;
+    private UserMapper userMapper;
+    private TransactionTemplate readOnly;
+    
+    @Setup
+    public void setUp() {
+        fixture = UserServiceFixture.start(users);
+        userService = fixture.bean(UserService.class);
+        userRepository = fixture.bean(UserRepository.class);
+        userMapper = fixture.bean(UserMapper.class);
+        readOnly = new TransactionTemplate(fixture.bean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+    
+    @Benchmark
+    public List<UserDto> byRoleDtoProjection() {
+        return userService.getUsersByRole(UserRole.TEACHER);
+    }
+    
+    @Benchmark
+    public List<UserDto> byRoleEntities() {
+        return readOnly.execute(status -> userRepository.findByRole(UserRole.TEACHER).stream()
+                .map(userMapper::toDto)
+                .toList());
+    }
+    
+    @Benchmark
+    public List<UserDto> byDepartmentDtoProjection() {
+        return userService.getUsersByDepartment(DEPARTMENT);
+    }
+    
+    @Benchmark
+    public List<UserDto> byDepartmentEntities() {
+        return readOnly.execute(status -> userRepository.findByDepartment(DEPARTMENT).stream()
+                .map(userMapper::toDto)
+                .toList());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,144 @@
+package com.smartcampus.benchmarks;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+/**
+ * Closed-loop HTTP load test against a running service: each simulated client sends its next
+ * request as soon as the previous one completes. Reports throughput and latency percentiles per
+ * concurrency level, so the same run against a service started with and without the
+ * {@code virtual-threads} profile compares the two execution modes.
+ * <p>
+ * Arguments are {@code key=value}: {@code url}, {@code clients} (comma separated levels),
+ * {@code duration}, {@code warmup} and optionally {@code token} for a bearer token.
+ */
+public final class UserLoadTest {
+    
+    private UserLoadTest() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        URI url = URI.create(options.getOrDefault("url", "http://localhost:8081/users/seek?sort=username"));
+        int[] levels = Arrays.stream(options.getOrDefault("clients", "1000,5000,10000").split(","))
+                .mapToInt(level -> Integer.parseInt(level.trim()))
+                .toArray();
+        Duration duration = DurationStyle.detectAndParse(options.getOrDefault("duration", "30s"));
+        Duration warmup = DurationStyle.detectAndParse(options.getOrDefault("warmup", "10s"));
+        
+        HttpRequest.Builder request = HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(30)).GET();
+        if (options.containsKey("token")) {
+            request.header("Authorization", "Bearer " + options.get("token"));
+        }
+        
+        System.out.printf("%s, %s measured after %s warmup%n", url, duration, warmup);
+        System.out.printf("%8s %10s %10s %10s %10s %10s %8s%n", "clients", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "errors");
+        for (int clients : levels) {
+            // A fresh client per level so connections opened for the previous level don't carry over
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            run(http, request.build(), clients, warmup);
+            Result result = run(http, request.build(), clients, duration);
+            System.out.printf("%8d %10.0f %10.2f %10.2f %10.2f %10.2f %8d%n", clients, result.throughput(),
+                    result.percentile(0.50), result.percentile(0.90), result.percentile(0.99),
+                    result.percentile(1.0), result.errors());
+        }
+    }
+    
+    private static Result run(HttpClient http, HttpRequest request, int clients, Duration duration) {
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        List<Client> running = IntStream.range(0, clients).mapToObj(i -> new Client()).toList();
+        CompletableFuture.allOf(running.stream()
+                .map(client -> client.start(http, request, deadline))
+                .toArray(CompletableFuture[]::new)).join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        
+        int total = running.stream().mapToInt(client -> client.count).sum();
+        long[] latencies = new long[total];
+        int offset = 0;
+        long errors = 0;
+        for (Client client : running) {
+            System.arraycopy(client.latencies, 0, latencies, offset, client.count);
+            offset += client.count;
+            errors += client.errors;
+        }
+        Arrays.sort(latencies);
+        return new Result(latencies, errors, seconds);
+    }
+    
+    private record Result(long[] latencies, long errors, double seconds) {
+        
+        double throughput() {
+            return latencies.length / seconds;
+        }
+        
+        double percentile(double p) {
+            if (latencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(p * latencies.length) - 1;
+            return latencies[Math.max(index, 0)] / 1e6;
+        }
+    }
+    
+    // Each client has at most one request in flight, so its fields are only touched by one callback at a time
+    private static final class Client {
+        
+        private long[] latencies = new long[256];
+        private int count;
+        private long errors;
+        
+        CompletableFuture<Void> start(HttpClient http, HttpRequest request, long deadline) {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            next(http, request, deadline, done);
+            return done;
+        }
+        
+        private void next(HttpClient http, HttpRequest request, long deadline, CompletableFuture<Void> done) {
+            long sent = System.nanoTime();
+            if (sent >= deadline) {
+                done.complete(null);
+                return;
+            }
+            http.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                if (error != null || response.statusCode() >= 400) {
+                    errors++;
+                } else {
+                    record(System.nanoTime() - sent);
+                }
+                next(http, request, deadline, done);
+            });
+        }
+        
+        private void record(long latency) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+        }
+    }
+}
\ No newline at end of file
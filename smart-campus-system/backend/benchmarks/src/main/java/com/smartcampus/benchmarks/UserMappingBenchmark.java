@@ -0,0 +1,55 @@
+package com.smartcampus.benchmarks;
+
+import com.smartcampus.userservice.dto.UserDto;
+import com.smartcampus.userservice.entity.User;
+import com.smartcampus.userservice.service.UserMapper;
+import com.smartcampus.userservice.service.UserMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO conversion through the compile-time generated {@link UserMapper}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserMappingBenchmark {
+    
+    private static final int SAMPLE_SIZE = 1024;
+    
+    private UserMapper userMapper;
+    private List<User> users;
+    private List<UserDto> dtos;
+    private int next;
+    
+    @Setup
+    public void setUp() {
+        userMapper = new UserMapperImpl();
+        users = SyntheticUsers.users(SAMPLE_SIZE);
+        dtos = SyntheticUsers.dtos(SAMPLE_SIZE);
+    }
+    
+    @Benchmark
+    public UserDto toDto() {
+        return userMapper.toDto(users.get(next++ & (SAMPLE_SIZE - 1)));
+    }
+    
+    @Benchmark
+    public User toEntity() {
+        return userMapper.toEntity(dtos.get(next++ & (SAMPLE_SIZE - 1)));
+    }
+}
\ No newline at end of file
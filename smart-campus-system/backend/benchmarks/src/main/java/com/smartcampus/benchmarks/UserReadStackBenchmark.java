@@ -0,0 +1,80 @@
+package com.smartcampus.benchmarks;
+
+import com.smartcampus.userservice.dto.UserDto;
+import com.smartcampus.userservice.entity.UserRole;
+import com.smartcampus.userservice.repository.ReactiveUserRepository;
+import com.smartcampus.userservice.repository.UserRepository;
+import com.smartcampus.userservice.service.UserMapper;
+import com.smartcampus.userservice.service.UserMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The blocking JPA list query against the R2DBC one behind the reactive read API, both producing
+ * the DTOs the endpoints serialize. This measures per-request cost only: H2's R2DBC driver wraps
+ * its blocking engine, so concurrency is compared at the HTTP level with {@link UserLoadTest}
+ * against the servlet and reactive-reads instances on MySQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserReadStackBenchmark {
+    
+    @Param({"20000"})
+    private int users;
+    
+    private UserServiceFixture fixture;
+    private UserRepository userRepository;
+    private ReactiveUserRepository reactiveUserRepository;
+    private UserMapper userMapper;
+    private TransactionTemplate readOnly;
+    
+    @Setup
+    public void setUp() {
+        fixture = UserServiceFixture.start(users);
+        userRepository = fixture.bean(UserRepository.class);
+        reactiveUserRepository = fixture.reactiveUserRepository();
+        userMapper = new UserMapperImpl();
+        readOnly = new TransactionTemplate(fixture.bean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+    
+    @Benchmark
+    public List<UserDto> jpaByRole() {
+        return readOnly.execute(status -> userRepository.findDtosByRole(UserRole.TEACHER));
+    }
+    
+    @Benchmark
+    public List<UserDto> r2dbcByRole() {
+        return reactiveUserRepository.findByRole(UserRole.TEACHER).map(userMapper::toDto).collectList().block();
+    }
+    
+    // Streaming consumer: rows are mapped and dropped one at a time, as the NDJSON endpoint does
+    @Benchmark
+    public long r2dbcByRoleStreamed() {
+        return reactiveUserRepository.findByRole(UserRole.TEACHER).map(userMapper::toDto).count().block();
+    }
+}
\ No newline at end of file
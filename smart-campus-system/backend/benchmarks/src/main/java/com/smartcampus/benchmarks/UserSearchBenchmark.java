@@ -0,0 +1,85 @@
+package com.smartcampus.benchmarks;
+
+import com.smartcampus.userservice.dto.UserDto;
+import com.smartcampus.userservice.entity.User;
+import com.smartcampus.userservice.repository.UserRepository;
+import com.smartcampus.userservice.search.UserSearchIndex;
+import com.smartcampus.userservice.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link UserService#searchUsers} over the trigram index against the LIKE query it replaced,
+ * both reading from the same seeded H2 table. The 1M case is the directory size the index was
+ * built for; seeding it takes about three minutes per fork and most of the 3GB heap, so run it
+ * on its own with {@code -p users=1000000}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class UserSearchBenchmark {
+    
+    private static final int LIMIT = 50;
+    
+    @Param({"100000", "1000000"})
+    private int users;
+    
+    @Param({"Nguyen", "user000123", "garc"})
+    private String term;
+    
+    private UserServiceFixture fixture;
+    private UserService userService;
+    private UserSearchIndex userSearchIndex;
+    private UserRepository userRepository;
+    
+    @Setup
+    public void setUp() {
+        fixture = UserServiceFixture.start(users);
+        userService = fixture.bean(UserService.class);
+        userSearchIndex = fixture.bean(UserSearchIndex.class);
+        userRepository = fixture.bean(UserRepository.class);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+    
+    @Benchmark
+    public List<UserDto> searchUsers() {
+        return userService.searchUsers(term, LIMIT, false);
+    }
+    
+    @Benchmark
+    public List<UserDto> searchUsersFuzzy() {
+        return userService.searchUsers(term, LIMIT, true);
+    }
+    
+    // Ranking alone, without loading the matched rows
+    @Benchmark
+    public List<Long> indexLookup() {
+        return userSearchIndex.search(term, LIMIT, false);
+    }
+    
+    @Benchmark
+    public List<User> likeQuery() {
+        return userRepository.searchUsers(term, PageRequest.of(0, LIMIT));
+    }
+}
\ No newline at end of file
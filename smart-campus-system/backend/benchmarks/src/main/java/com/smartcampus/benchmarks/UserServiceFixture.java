@@ -0,0 +1,137 @@
+package com.smartcampus.benchmarks;
+
+import com.smartcampus.userservice.UserServiceApplication;
+import com.smartcampus.userservice.entity.User;
+import com.smartcampus.userservice.repository.ReactiveUserRepository;
+import com.smartcampus.userservice.search.UserSearchIndex;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Boots user-service against a private in-memory H2 database in MySQL mode, migrated by
+ * user-service's Flyway scripts, and seeds it with {@link SyntheticUsers}. The web layer, Eureka
+ * and security are left out; everything from the service layer down is the production code. The
+ * reactive read repository can be opened over the same database, so both read stacks query
+ * identical rows.
+ */
+public final class UserServiceFixture implements AutoCloseable {
+    
+    private static final String INSERT_SQL = "INSERT INTO users (id, username, email, first_name, last_name, "
+            + "phone_number, role, student_id, employee_id, department, year_of_study, date_of_birth, address, "
+            + "is_active, created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    
+    private static final int SEED_BATCH_SIZE = 5_000;
+    
+    private static final String H2_OPTIONS = "MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1";
+    
+    private final ConfigurableApplicationContext context;
+    private final String database;
+    private ConnectionPool connectionPool;
+    
+    private UserServiceFixture(ConfigurableApplicationContext context, String database) {
+        this.context = context;
+        this.database = database;
+    }
+    
+    public static UserServiceFixture start(int users) {
+        return start(users, Map.of());
+    }
+    
+    /**
+     * Same as {@link #start(int)} with extra Spring properties, which take precedence over the fixture's own.
+     */
+    public static UserServiceFixture start(int users, Map<String, Object> properties) {
+        String database = UUID.randomUUID().toString();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(UserServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(Map.of(
+                        "spring.main.banner-mode", "off",
+                        "spring.datasource.url", "jdbc:h2:mem:" + database + ";" + H2_OPTIONS,
+                        // The production schema and indexes, straight from user-service's migrations
+                        "spring.flyway.locations", "classpath:db/migration/user-service",
+                        // Not validated here: the H2 dialect maps enum columns differently from the MySQL one
+                        "spring.jpa.hibernate.ddl-auto", "none",
+                        "spring.jpa.open-in-view", "false",
+                        "spring.cloud.service-registry.auto-registration.enabled", "false",
+                        // The blocking JPA stack is what's measured; R2DBC would otherwise displace the DataSource
+                        "spring.autoconfigure.exclude", "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration",
+                        "logging.level.root", "WARN"))
+                .properties(properties)
+                .run();
+        UserServiceFixture fixture = new UserServiceFixture(context, database);
+        fixture.seed(users);
+        return fixture;
+    }
+    
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+    
+    /**
+     * The R2DBC repository behind the reactive read API, over a pool of the same size as Hikari's
+     * default so the two stacks get equal database concurrency.
+     */
+    public synchronized ReactiveUserRepository reactiveUserRepository() {
+        if (connectionPool == null) {
+            connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+                    .builder(ConnectionFactories.get(ConnectionFactoryOptions
+                            .parse("r2dbc:h2:mem:///" + database + "?options=" + H2_OPTIONS)
+                            .mutate()
+                            .option(ConnectionFactoryOptions.USER, "sa")
+                            .build()))
+                    .maxSize(10)
+                    .build());
+        }
+        return new R2dbcRepositoryFactory(new R2dbcEntityTemplate(connectionPool))
+                .getRepository(ReactiveUserRepository.class);
+    }
+    
+    private void seed(int count) {
+        JdbcTemplate jdbcTemplate = bean(JdbcTemplate.class);
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (User user : SyntheticUsers.users(count)) {
+            Timestamp createdAt = Timestamp.valueOf(user.getCreatedAt());
+            batch.add(new Object[] {
+                    user.getId(), user.getUsername(), user.getEmail(), user.getFirstName(), user.getLastName(),
+                    user.getPhoneNumber(), user.getRole().name(), user.getStudentId(), user.getEmployeeId(),
+                    user.getDepartment(), user.getYearOfStudy(), user.getDateOfBirth(), user.getAddress(),
+                    user.getIsActive(), createdAt, createdAt
+            });
+            if (batch.size() == SEED_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+        // Explicit ids bypass the identity sequence; move it past the seeded rows
+        jdbcTemplate.execute("ALTER TABLE users ALTER COLUMN id RESTART WITH " + (count + 1));
+        
+        // The index was built at startup against the empty table
+        bean(UserSearchIndex.class).rebuild();
+    }
+    
+    @Override
+    public void close() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+        context.close();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,167 @@
+package com.smartcampus.courseservice.controller;
+
+import com.smartcampus.courseservice.dto.CourseDto;
+import com.smartcampus.courseservice.dto.ReservationResult;
+import com.smartcampus.courseservice.dto.ReservationStatus;
+import com.smartcampus.courseservice.dto.SeatStatus;
+import com.smartcampus.courseservice.service.CourseService;
+import com.smartcampus.courseservice.service.SeatReservationService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/courses")
+@CrossOrigin(origins = "http://localhost:4200")
+public class CourseController {
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private SeatReservationService seatReservationService;
+    
+    @GetMapping
+    public ResponseEntity<List<CourseDto>> getCourses(
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) String semester,
+            @RequestParam(required = false) String academicYear,
+            @RequestParam(required = false) Boolean isActive) {
+        List<CourseDto> courses = courseService.findCourses(department, semester, academicYear, isActive);
+        return ResponseEntity.ok(courses);
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<CourseDto> getCourseById(@PathVariable Long id) {
+        return courseService.getCourseById(id)
+                .map(course -> ResponseEntity.ok(course))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping("/code/{courseCode}")
+    public ResponseEntity<CourseDto> getCourseByCode(@PathVariable String courseCode) {
+        return courseService.getCourseByCode(courseCode)
+                .map(course -> ResponseEntity.ok(course))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping("/department/{department}")
+    public ResponseEntity<List<CourseDto>> getCoursesByDepartment(@PathVariable String department) {
+        List<CourseDto> courses = courseService.getCoursesByDepartment(department);
+        return ResponseEntity.ok(courses);
+    }
+    
+    @GetMapping("/instructor/{instructorId}")
+    public ResponseEntity<List<CourseDto>> getCoursesByInstructor(@PathVariable Long instructorId) {
+        List<CourseDto> courses = courseService.getCoursesByInstructor(instructorId);
+        return ResponseEntity.ok(courses);
+    }
+    
+    @PostMapping
+    public ResponseEntity<CourseDto> createCourse(@Valid @RequestBody CourseDto courseDto) {
+        try {
+            CourseDto createdCourse = courseService.createCourse(courseDto);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdCourse);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @PutMapping("/{id}")
+    public ResponseEntity<CourseDto> updateCourse(@PathVariable Long id, @Valid @RequestBody CourseDto courseDto) {
+        try {
+            CourseDto updatedCourse = courseService.updateCourse(id, courseDto);
+            return ResponseEntity.ok(updatedCourse);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteCourse(@PathVariable Long id) {
+        try {
+            courseService.deleteCourse(id);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @PutMapping("/{id}/deactivate")
+    public ResponseEntity<CourseDto> deactivateCourse(@PathVariable Long id) {
+        try {
+            CourseDto deactivatedCourse = courseService.deactivateCourse(id);
+            return ResponseEntity.ok(deactivatedCourse);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @PutMapping("/{id}/activate")
+    public ResponseEntity<CourseDto> activateCourse(@PathVariable Long id) {
+        try {
+            CourseDto activatedCourse = courseService.activateCourse(id);
+            return ResponseEntity.ok(activatedCourse);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @GetMapping("/{id}/seats")
+    public ResponseEntity<SeatStatus> getSeatStatus(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(seatReservationService.getSeatStatus(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @PostMapping("/{id}/reservations/{studentId}")
+    public ResponseEntity<ReservationResult> reserveSeat(@PathVariable Long id, @PathVariable Long studentId) {
+        ReservationResult result;
+        try {
+            result = seatReservationService.reserve(id, studentId);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+        switch (result.getStatus()) {
+            case RESERVED:
+                return ResponseEntity.status(HttpStatus.CREATED).body(result);
+            case WAITLISTED:
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(result);
+            case COURSE_INACTIVE:
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(result);
+            default:
+                return ResponseEntity.ok(result);
+        }
+    }
+    
+    // Holds are provisional: they live in this instance's memory and do not survive a restart
+    @GetMapping("/{id}/reservations/{studentId}")
+    public ResponseEntity<ReservationResult> getReservation(@PathVariable Long id, @PathVariable Long studentId) {
+        try {
+            ReservationResult result = seatReservationService.status(id, studentId);
+            return result.getStatus() == ReservationStatus.NOT_HELD
+                    ? ResponseEntity.status(HttpStatus.NOT_FOUND).body(result)
+                    : ResponseEntity.ok(result);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @DeleteMapping("/{id}/reservations/{studentId}")
+    public ResponseEntity<ReservationResult> releaseSeat(@PathVariable Long id, @PathVariable Long studentId) {
+        try {
+            ReservationResult result = seatReservationService.release(id, studentId);
+            return result.getStatus() == ReservationStatus.NOT_HELD
+                    ? ResponseEntity.status(HttpStatus.NOT_FOUND).body(result)
+                    : ResponseEntity.ok(result);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,139 @@
+package com.smartcampus.courseservice.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public class CourseDto {
+    
+    private Long id;
+    
+    @NotBlank(message = "Course code is required")
+    private String courseCode;
+    
+    @NotBlank(message = "Course name is required")
+    private String courseName;
+    
+    private String description;
+    
+    @NotNull(message = "Credits are required")
+    @Min(value = 0, message = "Credits cannot be negative")
+    private Integer credits;
+    
+    @NotBlank(message = "Department is required")
+    private String department;
+    
+    private Long instructorId;
+    private Integer maxStudents;
+    private Integer currentEnrollment;
+    private Boolean isActive;
+    private String semester;
+    private String academicYear;
+    
+    // Constructors
+    public CourseDto() {}
+    
+    public CourseDto(String courseCode, String courseName, Integer credits, String department) {
+        this.courseCode = courseCode;
+        this.courseName = courseName;
+        this.credits = credits;
+        this.department = department;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getCourseCode() {
+        return courseCode;
+    }
+    
+    public void setCourseCode(String courseCode) {
+        this.courseCode = courseCode;
+    }
+    
+    public String getCourseName() {
+        return courseName;
+    }
+    
+    public void setCourseName(String courseName) {
+        this.courseName = courseName;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public Integer getCredits() {
+        return credits;
+    }
+    
+    public void setCredits(Integer credits) {
+        this.credits = credits;
+    }
+    
+    public String getDepartment() {
+        return department;
+    }
+    
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+    
+    public Long getInstructorId() {
+        return instructorId;
+    }
+    
+    public void setInstructorId(Long instructorId) {
+        this.instructorId = instructorId;
+    }
+    
+    public Integer getMaxStudents() {
+        return maxStudents;
+    }
+    
+    public void setMaxStudents(Integer maxStudents) {
+        this.maxStudents = maxStudents;
+    }
+    
+    public Integer getCurrentEnrollment() {
+        return currentEnrollment;
+    }
+    
+    public void setCurrentEnrollment(Integer currentEnrollment) {
+        this.currentEnrollment = currentEnrollment;
+    }
+    
+    public Boolean getIsActive() {
+        return isActive;
+    }
+    
+    public void setIsActive(Boolean isActive) {
+        this.isActive = isActive;
+    }
+    
+    public String getSemester() {
+        return semester;
+    }
+    
+    public void setSemester(String semester) {
+        this.semester = semester;
+    }
+    
+    public String getAcademicYear() {
+        return academicYear;
+    }
+    
+    public void setAcademicYear(String academicYear) {
+        this.academicYear = academicYear;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.smartcampus.courseservice.dto;
+
+public class ReservationResult {
+    
+    private Long courseId;
+    private Long studentId;
+    private ReservationStatus status;
+    private Integer waitlistPosition;
+    private Integer seatsRemaining;
+    private Long promotedStudentId;
+    
+    // Constructors
+    public ReservationResult() {}
+    
+    public ReservationResult(Long courseId, Long studentId, ReservationStatus status) {
+        this.courseId = courseId;
+        this.studentId = studentId;
+        this.status = status;
+    }
+    
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+    
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+    
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    public ReservationStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(ReservationStatus status) {
+        this.status = status;
+    }
+    
+    public Integer getWaitlistPosition() {
+        return waitlistPosition;
+    }
+    
+    public void setWaitlistPosition(Integer waitlistPosition) {
+        this.waitlistPosition = waitlistPosition;
+    }
+    
+    public Integer getSeatsRemaining() {
+        return seatsRemaining;
+    }
+    
+    public void setSeatsRemaining(Integer seatsRemaining) {
+        this.seatsRemaining = seatsRemaining;
+    }
+    
+    public Long getPromotedStudentId() {
+        return promotedStudentId;
+    }
+    
+    public void setPromotedStudentId(Long promotedStudentId) {
+        this.promotedStudentId = promotedStudentId;
+    }
+}
\ No newline at end of file
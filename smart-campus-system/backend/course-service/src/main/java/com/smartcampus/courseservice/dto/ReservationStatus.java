@@ -0,0 +1,12 @@
+package com.smartcampus.courseservice.dto;
+
+public enum ReservationStatus {
+    RESERVED,
+    WAITLISTED,
+    ALREADY_RESERVED,
+    ALREADY_WAITLISTED,
+    RELEASED,
+    LEFT_WAITLIST,
+    NOT_HELD,
+    COURSE_INACTIVE
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.smartcampus.courseservice.dto;
+
+public class SeatStatus {
+    
+    private Long courseId;
+    private Integer maxStudents;
+    private int enrolled;
+    private int waitlisted;
+    private int pendingWrites;
+    
+    // Constructors
+    public SeatStatus() {}
+    
+    public SeatStatus(Long courseId, Integer maxStudents, int enrolled, int waitlisted, int pendingWrites) {
+        this.courseId = courseId;
+        this.maxStudents = maxStudents;
+        this.enrolled = enrolled;
+        this.waitlisted = waitlisted;
+        this.pendingWrites = pendingWrites;
+    }
+    
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+    
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+    
+    public Integer getMaxStudents() {
+        return maxStudents;
+    }
+    
+    public void setMaxStudents(Integer maxStudents) {
+        this.maxStudents = maxStudents;
+    }
+    
+    public int getEnrolled() {
+        return enrolled;
+    }
+    
+    public void setEnrolled(int enrolled) {
+        this.enrolled = enrolled;
+    }
+    
+    public int getWaitlisted() {
+        return waitlisted;
+    }
+    
+    public void setWaitlisted(int waitlisted) {
+        this.waitlisted = waitlisted;
+    }
+    
+    public int getPendingWrites() {
+        return pendingWrites;
+    }
+    
+    public void setPendingWrites(int pendingWrites) {
+        this.pendingWrites = pendingWrites;
+    }
+}
\ No newline at end of file
@@ -37,7 +37,9 @@ public class Course {
     @Column(name = "max_students")
     private Integer maxStudents;
     
-    @Column(name = "current_enrollment")
+    // Only SeatReservationService's conditional UPDATE moves this; a course edit writing back the
+    // value it read would undo seat changes flushed since
+    @Column(name = "current_enrollment", updatable = false)
     private Integer currentEnrollment = 0;
     
     @Column(name = "is_active")
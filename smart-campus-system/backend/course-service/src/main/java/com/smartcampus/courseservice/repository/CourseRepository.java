@@ -0,0 +1,19 @@
+package com.smartcampus.courseservice.repository;
+
+import com.smartcampus.courseservice.entity.Course;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CourseRepository extends JpaRepository<Course, Long> {
+    
+    Optional<Course> findByCourseCode(String courseCode);
+    
+    List<Course> findByUpdatedAtGreaterThanEqual(LocalDateTime updatedAt);
+    
+    boolean existsByCourseCode(String courseCode);
+}
\ No newline at end of file
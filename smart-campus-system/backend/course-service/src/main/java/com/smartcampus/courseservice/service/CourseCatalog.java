@@ -0,0 +1,238 @@
+package com.smartcampus.courseservice.service;
+
+import com.smartcampus.courseservice.dto.CourseDto;
+import com.smartcampus.courseservice.entity.Course;
+import com.smartcampus.courseservice.repository.CourseRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * In-memory copy of the course catalog with secondary indexes per filter dimension.
+ * <p>
+ * Reads never touch MySQL: they go to an immutable snapshot published through a volatile field.
+ * Writes through this instance are applied immediately; changes made elsewhere are picked up by
+ * polling for rows whose {@code updated_at} moved, and a periodic full reload catches deletes.
+ */
+@Component
+public class CourseCatalog {
+    
+    private static final Logger log = LoggerFactory.getLogger(CourseCatalog.class);
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private CourseMapper courseMapper;
+    
+    // Rows written by another instance can carry a slightly older updated_at than we have seen
+    @Value("${course-service.catalog.refresh-overlap:5s}")
+    private Duration refreshOverlap;
+    
+    // Serializes writers; reload and refresh hold it across their queries, where a monitor would
+    // pin a virtual thread's carrier
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Snapshot snapshot = new Snapshot(List.of());
+    private LocalDateTime lastSeenUpdate;
+    // updated_at of each row as last read, so the overlap window's re-reads are recognized as unchanged
+    private final Map<Long, LocalDateTime> seenUpdates = new HashMap<>();
+    
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${course-service.catalog.full-reload-interval:PT10M}",
+            initialDelayString = "${course-service.catalog.full-reload-interval:PT10M}")
+    public void reload() {
+        writeLock.lock();
+        try {
+            List<Course> courses = courseRepository.findAll();
+            lastSeenUpdate = latestUpdate(courses, null);
+            seenUpdates.clear();
+            courses.forEach(course -> seenUpdates.put(course.getId(), course.getUpdatedAt()));
+            snapshot = new Snapshot(courses.stream().map(courseMapper::toDto).toList());
+            log.info("Course catalog loaded: {} courses", courses.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${course-service.catalog.refresh-interval:PT5S}")
+    public void refresh() {
+        writeLock.lock();
+        try {
+            if (lastSeenUpdate == null) {
+                reload();
+                return;
+            }
+            List<Course> candidates = courseRepository.findByUpdatedAtGreaterThanEqual(lastSeenUpdate.minus(refreshOverlap));
+            lastSeenUpdate = latestUpdate(candidates, lastSeenUpdate);
+            Map<Long, CourseDto> courses = null;
+            for (Course course : candidates) {
+                LocalDateTime seen = seenUpdates.put(course.getId(), course.getUpdatedAt());
+                if (course.getUpdatedAt() != null && course.getUpdatedAt().equals(seen)) {
+                    continue;
+                }
+                if (courses == null) {
+                    courses = new HashMap<>(snapshot.byId);
+                }
+                courses.put(course.getId(), courseMapper.toDto(course));
+            }
+            // The window always re-reads the latest rows; rebuild only when one of them moved
+            if (courses != null) {
+                snapshot = new Snapshot(courses.values());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    public void put(CourseDto course) {
+        writeLock.lock();
+        try {
+            Map<Long, CourseDto> courses = new HashMap<>(snapshot.byId);
+            courses.put(course.getId(), course);
+            snapshot = new Snapshot(courses.values());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    public void remove(Long id) {
+        writeLock.lock();
+        try {
+            Map<Long, CourseDto> courses = new HashMap<>(snapshot.byId);
+            seenUpdates.remove(id);
+            if (courses.remove(id) != null) {
+                snapshot = new Snapshot(courses.values());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    public List<CourseDto> findAll() {
+        return snapshot.all;
+    }
+    
+    public Optional<CourseDto> findById(Long id) {
+        return Optional.ofNullable(snapshot.byId.get(id));
+    }
+    
+    public Optional<CourseDto> findByCourseCode(String courseCode) {
+        return Optional.ofNullable(snapshot.byCode.get(normalize(courseCode)));
+    }
+    
+    public List<CourseDto> findByInstructorId(Long instructorId) {
+        return snapshot.byInstructor.getOrDefault(instructorId, List.of());
+    }
+    
+    /**
+     * Courses matching every non-null filter, ordered by course code. Starts from the smallest
+     * matching index list and checks the remaining filters against each candidate.
+     */
+    public List<CourseDto> find(String department, String semester, String academicYear, Boolean isActive) {
+        Snapshot current = snapshot;
+        List<CourseDto> candidates = current.all;
+        if (department != null) {
+            candidates = smallest(candidates, current.byDepartment.getOrDefault(normalize(department), List.of()));
+        }
+        if (semester != null) {
+            candidates = smallest(candidates, current.bySemester.getOrDefault(normalize(semester), List.of()));
+        }
+        if (academicYear != null) {
+            candidates = smallest(candidates, current.byAcademicYear.getOrDefault(normalize(academicYear), List.of()));
+        }
+        if (isActive != null) {
+            candidates = smallest(candidates, current.byActive.getOrDefault(isActive, List.of()));
+        }
+        
+        List<CourseDto> matches = new ArrayList<>();
+        for (CourseDto course : candidates) {
+            if (matches(department, course.getDepartment())
+                    && matches(semester, course.getSemester())
+                    && matches(academicYear, course.getAcademicYear())
+                    && (isActive == null || isActive.equals(course.getIsActive()))) {
+                matches.add(course);
+            }
+        }
+        return matches;
+    }
+    
+    private static List<CourseDto> smallest(List<CourseDto> current, List<CourseDto> candidate) {
+        return candidate.size() < current.size() ? candidate : current;
+    }
+    
+    private static boolean matches(String filter, String value) {
+        return filter == null || (value != null && normalize(filter).equals(normalize(value)));
+    }
+    
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private static LocalDateTime latestUpdate(List<Course> courses, LocalDateTime floor) {
+        LocalDateTime latest = floor;
+        for (Course course : courses) {
+            LocalDateTime updatedAt = course.getUpdatedAt();
+            if (updatedAt != null && (latest == null || updatedAt.isAfter(latest))) {
+                latest = updatedAt;
+            }
+        }
+        return latest != null ? latest : LocalDateTime.now();
+    }
+    
+    private static final class Snapshot {
+        
+        private final List<CourseDto> all;
+        private final Map<Long, CourseDto> byId = new HashMap<>();
+        private final Map<String, CourseDto> byCode = new HashMap<>();
+        private final Map<String, List<CourseDto>> byDepartment;
+        private final Map<String, List<CourseDto>> bySemester;
+        private final Map<String, List<CourseDto>> byAcademicYear;
+        private final Map<Boolean, List<CourseDto>> byActive;
+        private final Map<Long, List<CourseDto>> byInstructor;
+        
+        private Snapshot(Collection<CourseDto> courses) {
+            all = courses.stream()
+                    .sorted(Comparator.comparing(CourseDto::getCourseCode, String.CASE_INSENSITIVE_ORDER))
+                    .toList();
+            for (CourseDto course : all) {
+                byId.put(course.getId(), course);
+                byCode.put(normalize(course.getCourseCode()), course);
+            }
+            byDepartment = group(all, course -> course.getDepartment() == null ? null : normalize(course.getDepartment()));
+            bySemester = group(all, course -> course.getSemester() == null ? null : normalize(course.getSemester()));
+            byAcademicYear = group(all, course -> course.getAcademicYear() == null ? null : normalize(course.getAcademicYear()));
+            byActive = group(all, CourseDto::getIsActive);
+            byInstructor = group(all, CourseDto::getInstructorId);
+        }
+        
+        // Lists keep the course-code order of 'all'
+        private static <K> Map<K, List<CourseDto>> group(List<CourseDto> courses, Function<CourseDto, K> key) {
+            Map<K, List<CourseDto>> groups = new HashMap<>();
+            for (CourseDto course : courses) {
+                K value = key.apply(course);
+                if (value != null) {
+                    groups.computeIfAbsent(value, k -> new ArrayList<>()).add(course);
+                }
+            }
+            groups.replaceAll((k, list) -> List.copyOf(list));
+            return groups;
+        }
+    }
+}
\ No newline at end of file
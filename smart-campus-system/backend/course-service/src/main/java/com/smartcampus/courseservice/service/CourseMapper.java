@@ -0,0 +1,38 @@
+package com.smartcampus.courseservice.service;
+
+import com.smartcampus.courseservice.dto.CourseDto;
+import com.smartcampus.courseservice.entity.Course;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Course/CourseDto conversions, generated at compile time by MapStruct as plain getter/setter
+ * calls. Unmapped target properties fail the build, so a new column has to be mapped or
+ * explicitly ignored here.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, unmappedTargetPolicy = ReportingPolicy.ERROR)
+interface CourseMapper {
+    
+    CourseDto toDto(Course course);
+    
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "currentEnrollment", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "isActive", defaultValue = "true")
+    Course toEntity(CourseDto dto);
+    
+    // Partial update: null fields in the DTO leave the course untouched
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "courseCode", ignore = true)
+    @Mapping(target = "currentEnrollment", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    void updateFields(CourseDto dto, @MappingTarget Course course);
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.smartcampus.courseservice.service;
+
+import com.smartcampus.courseservice.dto.CourseDto;
+import com.smartcampus.courseservice.entity.Course;
+import com.smartcampus.courseservice.repository.CourseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class CourseService {
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private CourseMapper courseMapper;
+    
+    @Autowired
+    private CourseCatalog courseCatalog;
+    
+    // Reads are served from the in-memory catalog, outside any transaction
+    
+    public List<CourseDto> getAllCourses() {
+        return courseCatalog.findAll();
+    }
+    
+    public List<CourseDto> findCourses(String department, String semester, String academicYear, Boolean isActive) {
+        return courseCatalog.find(department, semester, academicYear, isActive);
+    }
+    
+    public Optional<CourseDto> getCourseById(Long id) {
+        return courseCatalog.findById(id);
+    }
+    
+    public Optional<CourseDto> getCourseByCode(String courseCode) {
+        return courseCatalog.findByCourseCode(courseCode);
+    }
+    
+    public List<CourseDto> getCoursesByDepartment(String department) {
+        return courseCatalog.find(department, null, null, null);
+    }
+    
+    public List<CourseDto> getCoursesByInstructor(Long instructorId) {
+        return courseCatalog.findByInstructorId(instructorId);
+    }
+    
+    // Writes go to MySQL and reach the catalog once the transaction commits
+    
+    @Transactional
+    public CourseDto createCourse(CourseDto courseDto) {
+        if (courseRepository.existsByCourseCode(courseDto.getCourseCode())) {
+            throw new RuntimeException("Course code already exists: " + courseDto.getCourseCode());
+        }
+        Course course = courseMapper.toEntity(courseDto);
+        course.setCreatedAt(LocalDateTime.now());
+        CourseDto created = courseMapper.toDto(courseRepository.save(course));
+        afterCommit(() -> courseCatalog.put(created));
+        return created;
+    }
+    
+    @Transactional
+    public CourseDto updateCourse(Long id, CourseDto courseDto) {
+        return courseRepository.findById(id)
+                .map(course -> {
+                    courseMapper.updateFields(courseDto, course);
+                    course.setUpdatedAt(LocalDateTime.now());
+                    CourseDto updated = courseMapper.toDto(courseRepository.save(course));
+                    afterCommit(() -> courseCatalog.put(updated));
+                    return updated;
+                })
+                .orElseThrow(() -> new RuntimeException("Course not found with id: " + id));
+    }
+    
+    @Transactional
+    public void deleteCourse(Long id) {
+        if (!courseRepository.existsById(id)) {
+            throw new RuntimeException("Course not found with id: " + id);
+        }
+        courseRepository.deleteById(id);
+        afterCommit(() -> courseCatalog.remove(id));
+    }
+    
+    @Transactional
+    public CourseDto activateCourse(Long id) {
+        return setActive(id, true);
+    }
+    
+    @Transactional
+    public CourseDto deactivateCourse(Long id) {
+        return setActive(id, false);
+    }
+    
+    private CourseDto setActive(Long id, boolean active) {
+        return courseRepository.findById(id)
+                .map(course -> {
+                    course.setIsActive(active);
+                    course.setUpdatedAt(LocalDateTime.now());
+                    CourseDto updated = courseMapper.toDto(courseRepository.save(course));
+                    afterCommit(() -> courseCatalog.put(updated));
+                    return updated;
+                })
+                .orElseThrow(() -> new RuntimeException("Course not found with id: " + id));
+    }
+    
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
\ No newline at end of file
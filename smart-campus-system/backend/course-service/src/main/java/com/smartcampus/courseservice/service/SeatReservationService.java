@@ -0,0 +1,301 @@
+package com.smartcampus.courseservice.service;
+
+import com.smartcampus.courseservice.dto.CourseDto;
+import com.smartcampus.courseservice.dto.ReservationResult;
+import com.smartcampus.courseservice.dto.ReservationStatus;
+import com.smartcampus.courseservice.dto.SeatStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admits or waitlists seat reservations in memory and writes the accepted ones to MySQL in batches.
+ * <p>
+ * Each course has its own seat counter guarded by its own monitor, so contention on one popular
+ * section never blocks another and the capacity check and increment are a single atomic step.
+ * Net seat changes per course are flushed every {@code course-service.reservations.flush-interval}
+ * with a conditional {@code UPDATE} that can never push {@code current_enrollment} past
+ * {@code max_students}. This instance is assumed to own the counters; if a conditional update
+ * finds the row changed underneath it the counter is resynchronized from the table, and the
+ * newest holders whose seats the table refused go back to the head of the waitlist. Each such
+ * bump is logged and counted in {@code course.reservations.bumped}; the student sees it through
+ * {@link #status}.
+ * <p>
+ * Holds are provisional. Holders and waitlists live in memory only and are not rebuilt after a
+ * restart: seats held before it stay counted in {@code current_enrollment} but can no longer be
+ * released here, and the waitlist is gone. Durable enrollment records belong to the enrollment
+ * service.
+ */
+@Service
+public class SeatReservationService {
+    
+    private static final Logger log = LoggerFactory.getLogger(SeatReservationService.class);
+    
+    private static final String FLUSH_SQL = "UPDATE courses SET current_enrollment = current_enrollment + ?, updated_at = ? "
+            + "WHERE id = ? AND current_enrollment + ? >= 0 "
+            + "AND (max_students IS NULL OR current_enrollment + ? <= max_students)";
+    
+    @Autowired
+    private CourseCatalog courseCatalog;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final Map<Long, CourseSeats> seats = new ConcurrentHashMap<>();
+    // One flush at a time; held across the batch update, where a monitor would pin a virtual thread's carrier
+    private final ReentrantLock flushLock = new ReentrantLock();
+    
+    public ReservationResult reserve(Long courseId, Long studentId) {
+        CourseDto course = findCourse(courseId);
+        CourseSeats courseSeats = seatsFor(course);
+        ReservationResult result = new ReservationResult(courseId, studentId, null);
+        synchronized (courseSeats) {
+            courseSeats.capacity = capacityOf(course);
+            if (!Boolean.TRUE.equals(course.getIsActive())) {
+                result.setStatus(ReservationStatus.COURSE_INACTIVE);
+            } else if (courseSeats.holders.contains(studentId)) {
+                result.setStatus(ReservationStatus.ALREADY_RESERVED);
+            } else if (courseSeats.waitlist.contains(studentId)) {
+                result.setStatus(ReservationStatus.ALREADY_WAITLISTED);
+                result.setWaitlistPosition(courseSeats.positionOf(studentId));
+            } else if (courseSeats.enrolled < courseSeats.capacity) {
+                courseSeats.holders.add(studentId);
+                courseSeats.enrolled++;
+                courseSeats.pendingDelta++;
+                result.setStatus(ReservationStatus.RESERVED);
+            } else {
+                courseSeats.waitlist.add(studentId);
+                result.setStatus(ReservationStatus.WAITLISTED);
+                result.setWaitlistPosition(courseSeats.waitlist.size());
+            }
+            result.setSeatsRemaining(courseSeats.seatsRemaining());
+        }
+        return result;
+    }
+    
+    /**
+     * Gives a seat back, or leaves the waitlist. A freed seat goes straight to the head of the waitlist.
+     */
+    public ReservationResult release(Long courseId, Long studentId) {
+        CourseDto course = findCourse(courseId);
+        CourseSeats courseSeats = seatsFor(course);
+        ReservationResult result = new ReservationResult(courseId, studentId, null);
+        synchronized (courseSeats) {
+            if (courseSeats.waitlist.remove(studentId)) {
+                result.setStatus(ReservationStatus.LEFT_WAITLIST);
+            } else if (courseSeats.holders.remove(studentId)) {
+                result.setStatus(ReservationStatus.RELEASED);
+                Iterator<Long> next = courseSeats.waitlist.iterator();
+                if (next.hasNext() && courseSeats.enrolled <= courseSeats.capacity) {
+                    Long promoted = next.next();
+                    next.remove();
+                    courseSeats.holders.add(promoted);
+                    result.setPromotedStudentId(promoted);
+                } else {
+                    courseSeats.enrolled--;
+                    courseSeats.pendingDelta--;
+                }
+            } else {
+                result.setStatus(ReservationStatus.NOT_HELD);
+            }
+            result.setSeatsRemaining(courseSeats.seatsRemaining());
+        }
+        return result;
+    }
+    
+    /**
+     * Where the student stands: RESERVED, WAITLISTED with a position, or NOT_HELD.
+     */
+    public ReservationResult status(Long courseId, Long studentId) {
+        CourseDto course = findCourse(courseId);
+        CourseSeats courseSeats = seatsFor(course);
+        ReservationResult result = new ReservationResult(courseId, studentId, null);
+        synchronized (courseSeats) {
+            if (courseSeats.holders.contains(studentId)) {
+                result.setStatus(ReservationStatus.RESERVED);
+            } else if (courseSeats.waitlist.contains(studentId)) {
+                result.setStatus(ReservationStatus.WAITLISTED);
+                result.setWaitlistPosition(courseSeats.positionOf(studentId));
+            } else {
+                result.setStatus(ReservationStatus.NOT_HELD);
+            }
+            result.setSeatsRemaining(courseSeats.seatsRemaining());
+        }
+        return result;
+    }
+    
+    public SeatStatus getSeatStatus(Long courseId) {
+        CourseDto course = findCourse(courseId);
+        CourseSeats courseSeats = seatsFor(course);
+        synchronized (courseSeats) {
+            return new SeatStatus(courseId, course.getMaxStudents(), courseSeats.enrolled,
+                    courseSeats.waitlist.size(), courseSeats.pendingDelta);
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${course-service.reservations.flush-interval:PT0.1S}")
+    @PreDestroy
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    private void flushPending() {
+        List<CourseSeats> flushed = new ArrayList<>();
+        List<Integer> deltas = new ArrayList<>();
+        for (CourseSeats courseSeats : seats.values()) {
+            synchronized (courseSeats) {
+                if (courseSeats.pendingDelta != 0) {
+                    flushed.add(courseSeats);
+                    deltas.add(courseSeats.pendingDelta);
+                    courseSeats.pendingDelta = 0;
+                }
+            }
+        }
+        if (flushed.isEmpty()) {
+            return;
+        }
+        
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> arguments = new ArrayList<>(flushed.size());
+        for (int i = 0; i < flushed.size(); i++) {
+            int delta = deltas.get(i);
+            arguments.add(new Object[] {delta, now, flushed.get(i).courseId, delta, delta});
+        }
+        
+        int[] updated;
+        try {
+            updated = jdbcTemplate.batchUpdate(FLUSH_SQL, arguments);
+        } catch (DataAccessException e) {
+            // Keep the deltas for the next attempt
+            for (int i = 0; i < flushed.size(); i++) {
+                synchronized (flushed.get(i)) {
+                    flushed.get(i).pendingDelta += deltas.get(i);
+                }
+            }
+            log.warn("Flushing seat reservations failed, will retry: {}", e.getMostSpecificCause().getMessage());
+            return;
+        }
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                resync(flushed.get(i), deltas.get(i));
+            }
+        }
+    }
+    
+    private void resync(CourseSeats courseSeats, int lostDelta) {
+        List<Integer> rows = jdbcTemplate.query("SELECT current_enrollment FROM courses WHERE id = ?",
+                (rs, rowNum) -> rs.getInt(1), courseSeats.courseId);
+        if (rows.isEmpty()) {
+            seats.remove(courseSeats.courseId);
+            return;
+        }
+        List<Long> bumped;
+        synchronized (courseSeats) {
+            log.error("Seat counter for course {} diverged from the database: {} seat change(s) rejected by "
+                    + "max_students, resynchronizing from current_enrollment={}", courseSeats.courseId, lostDelta, rows.get(0));
+            // The refused seats were handed to the newest holders; they queue again ahead of everyone else
+            bumped = courseSeats.evictNewest(lostDelta);
+            courseSeats.enrolled = rows.get(0) + courseSeats.pendingDelta;
+            // Seats the table still has room for go back to the head of the waitlist, bumped students first
+            Iterator<Long> next = courseSeats.waitlist.iterator();
+            while (next.hasNext() && courseSeats.enrolled < courseSeats.capacity) {
+                Long promoted = next.next();
+                next.remove();
+                courseSeats.holders.add(promoted);
+                courseSeats.enrolled++;
+                courseSeats.pendingDelta++;
+                bumped.remove(promoted);
+            }
+        }
+        if (!bumped.isEmpty()) {
+            meterRegistry.counter("course.reservations.bumped").increment(bumped.size());
+            log.warn("Moved {} reservation(s) for course {} back to the head of the waitlist: students {}",
+                    bumped.size(), courseSeats.courseId, bumped);
+        }
+    }
+    
+    private CourseDto findCourse(Long courseId) {
+        return courseCatalog.findById(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
+    }
+    
+    private CourseSeats seatsFor(CourseDto course) {
+        return seats.computeIfAbsent(course.getId(), id -> new CourseSeats(id,
+                course.getCurrentEnrollment() != null ? course.getCurrentEnrollment() : 0, capacityOf(course)));
+    }
+    
+    private static int capacityOf(CourseDto course) {
+        return course.getMaxStudents() != null ? course.getMaxStudents() : Integer.MAX_VALUE;
+    }
+    
+    private static final class CourseSeats {
+        
+        private final Long courseId;
+        // In the order the seats were handed out
+        private final LinkedHashSet<Long> holders = new LinkedHashSet<>();
+        private LinkedHashSet<Long> waitlist = new LinkedHashSet<>();
+        private int capacity;
+        private int enrolled;
+        private int pendingDelta;
+        
+        private CourseSeats(Long courseId, int enrolled, int capacity) {
+            this.courseId = courseId;
+            this.enrolled = enrolled;
+            this.capacity = capacity;
+        }
+        
+        // null when the course has no max_students
+        private Integer seatsRemaining() {
+            return capacity == Integer.MAX_VALUE ? null : Math.max(0, capacity - enrolled);
+        }
+        
+        /**
+         * Moves up to {@code count} of the newest holders to the head of the waitlist, oldest of
+         * them first, and returns them.
+         */
+        private List<Long> evictNewest(int count) {
+            List<Long> all = new ArrayList<>(holders);
+            List<Long> evicted = new ArrayList<>(all.subList(Math.max(0, all.size() - Math.max(0, count)), all.size()));
+            evicted.forEach(holders::remove);
+            LinkedHashSet<Long> queue = new LinkedHashSet<>(evicted);
+            queue.addAll(waitlist);
+            waitlist = queue;
+            return evicted;
+        }
+        
+        private int positionOf(Long studentId) {
+            int position = 1;
+            for (Long waiting : waitlist) {
+                if (waiting.equals(studentId)) {
+                    return position;
+                }
+                position++;
+            }
+            return -1;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+-- Schema as previously created by ddl-auto: update. Databases that already have these tables are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and only run what follows.
+-- Constraint names are the ones Hibernate generated, so existing and new databases match.
+
+CREATE TABLE courses (
+    credits INTEGER NOT NULL,
+    current_enrollment INTEGER,
+    is_active BIT,
+    max_students INTEGER,
+    created_at DATETIME(6),
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    instructor_id BIGINT,
+    updated_at DATETIME(6),
+    academic_year VARCHAR(255),
+    course_code VARCHAR(255) NOT NULL,
+    course_name VARCHAR(255) NOT NULL,
+    department VARCHAR(255) NOT NULL,
+    description TEXT,
+    semester VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+ALTER TABLE courses ADD CONSTRAINT UK_p02ts69sh53ptd62m3c67v0 UNIQUE (course_code);
\ No newline at end of file
@@ -0,0 +1,8 @@
+-- CourseCatalog filters in memory; these indexes cover the same filter dimensions for anything
+-- that reads them from SQL, such as reporting queries.
+
+-- Courses taught by an instructor
+CREATE INDEX idx_courses_instructor_id ON courses (instructor_id);
+
+-- Department listings narrowed by term and active flag, in the catalog's filter order
+CREATE INDEX idx_courses_department_term ON courses (department, academic_year, semester, is_active);
\ No newline at end of file
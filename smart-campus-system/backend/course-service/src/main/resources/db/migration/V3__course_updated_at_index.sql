@@ -0,0 +1,4 @@
+-- Additions made after the baseline schema, so databases adopted as V1 receive them too.
+
+-- Catalog refreshes read only the courses changed since the last one
+CREATE INDEX idx_courses_updated_at ON courses (updated_at);
\ No newline at end of file
@@ -0,0 +1,261 @@
+package com.smartcampus.userservice.cache;
+
+import com.smartcampus.userservice.dto.UserDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-evicting read-through cache of {@link UserDto}s.
+ * <p>
+ * Each user is stored once, keyed by id, with username, email and student id pointing at that
+ * entry, so invalidating a user by id drops every alias at once. Lookups that found nothing can
+ * optionally be remembered for a short negative TTL. Loads that race with an invalidation are
+ * not cached, so a reader can't put back a row that was changed while it was loading.
+ */
+@Component
+public class UserCache {
+    
+    public enum KeyType {
+        ID, USERNAME, EMAIL, STUDENT_ID
+    }
+    
+    @Value("${user-service.cache.max-size:10000}")
+    private int maxSize;
+    
+    @Value("${user-service.cache.ttl:10m}")
+    private Duration ttl;
+    
+    @Value("${user-service.cache.negative-ttl:30s}")
+    private Duration negativeTtl;
+    
+    @Value("${user-service.cache.negative-enabled:true}")
+    private boolean negativeEnabled;
+    
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Long> aliases = new HashMap<>();
+    private final LinkedHashMap<String, Long> negatives = new LinkedHashMap<>(16, 0.75f, true);
+    private long invalidations;
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    /**
+     * Returns the cached user for the key, or loads it with {@code loader} and caches the result.
+     */
+    public Optional<UserDto> get(KeyType type, Object value, Supplier<Optional<UserDto>> loader) {
+        String key = key(type, value);
+        long generation;
+        synchronized (this) {
+            Entry entry = lookup(type, key, value);
+            if (entry != null) {
+                hits.increment();
+                return Optional.of(entry.user);
+            }
+            Long negativeExpiry = negatives.get(key);
+            if (negativeExpiry != null) {
+                if (negativeExpiry - System.nanoTime() > 0) {
+                    negativeHits.increment();
+                    return Optional.empty();
+                }
+                negatives.remove(key);
+            }
+            misses.increment();
+            generation = invalidations;
+        }
+        
+        Optional<UserDto> loaded = loader.get();
+        synchronized (this) {
+            if (generation == invalidations) {
+                if (loaded.isPresent()) {
+                    put(loaded.get());
+                } else if (negativeEnabled) {
+                    negatives.put(key, System.nanoTime() + negativeTtl.toNanos());
+                    trim(negatives);
+                }
+            }
+        }
+        return loaded;
+    }
+    
+    /**
+     * Returns the cached user without loading it on a miss; used by batch lookups that load
+     * all misses together.
+     */
+    public synchronized Optional<UserDto> getIfPresent(KeyType type, Object value) {
+        Entry entry = lookup(type, key(type, value), value);
+        if (entry != null) {
+            hits.increment();
+            return Optional.of(entry.user);
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+    
+    /**
+     * Drops the user now and again once the current transaction commits, and forgets any
+     * remembered misses for the user's keys.
+     */
+    public void invalidate(UserDto user) {
+        evict(user);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(user);
+                }
+            });
+        }
+    }
+    
+    /**
+     * Drops a batch of users by id under a single lock, now and again after commit. Existing
+     * users never have negative entries, so only the positive entries need to go.
+     */
+    public void invalidateIds(Collection<Long> ids) {
+        evictIds(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictIds(ids);
+                }
+            });
+        }
+    }
+    
+    public synchronized void clear() {
+        invalidations++;
+        entries.clear();
+        aliases.clear();
+        negatives.clear();
+    }
+    
+    public synchronized UserCacheStats getStats() {
+        return new UserCacheStats(entries.size(), negatives.size(), hits.sum(), misses.sum(),
+                negativeHits.sum(), evictions.sum());
+    }
+    
+    private synchronized void evict(UserDto user) {
+        invalidations++;
+        if (user.getId() != null) {
+            removeEntry(user.getId());
+            negatives.remove(key(KeyType.ID, user.getId()));
+        }
+        for (String alias : aliasKeys(user)) {
+            Long id = aliases.get(alias);
+            if (id != null) {
+                removeEntry(id);
+            }
+            negatives.remove(alias);
+        }
+    }
+    
+    private synchronized void evictIds(Collection<Long> ids) {
+        invalidations++;
+        for (Long id : ids) {
+            removeEntry(id);
+        }
+    }
+    
+    private Entry lookup(KeyType type, String key, Object value) {
+        Long id = type == KeyType.ID ? (Long) value : aliases.get(key);
+        if (id == null) {
+            return null;
+        }
+        Entry entry = entries.get(id);
+        if (entry != null && entry.expiresAt - System.nanoTime() <= 0) {
+            removeEntry(id);
+            evictions.increment();
+            return null;
+        }
+        return entry;
+    }
+    
+    private void put(UserDto user) {
+        removeEntry(user.getId());
+        Entry entry = new Entry(user, System.nanoTime() + ttl.toNanos(), aliasKeys(user));
+        entries.put(user.getId(), entry);
+        for (String alias : entry.aliases) {
+            aliases.put(alias, user.getId());
+        }
+        
+        Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxSize && eldest.hasNext()) {
+            Entry evicted = eldest.next().getValue();
+            eldest.remove();
+            removeAliases(evicted);
+            evictions.increment();
+        }
+    }
+    
+    private void removeEntry(Long id) {
+        Entry entry = entries.remove(id);
+        if (entry != null) {
+            removeAliases(entry);
+        }
+    }
+    
+    private void removeAliases(Entry entry) {
+        for (String alias : entry.aliases) {
+            aliases.remove(alias, entry.user.getId());
+        }
+    }
+    
+    private void trim(LinkedHashMap<String, Long> map) {
+        Iterator<String> eldest = map.keySet().iterator();
+        while (map.size() > maxSize && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+    
+    private static List<String> aliasKeys(UserDto user) {
+        List<String> keys = new ArrayList<>(3);
+        if (user.getUsername() != null) {
+            keys.add(key(KeyType.USERNAME, user.getUsername()));
+        }
+        if (user.getEmail() != null) {
+            keys.add(key(KeyType.EMAIL, user.getEmail()));
+        }
+        if (user.getStudentId() != null) {
+            keys.add(key(KeyType.STUDENT_ID, user.getStudentId()));
+        }
+        return keys;
+    }
+    
+    // String keys are case-insensitive, matching MySQL's default collation
+    private static String key(KeyType type, Object value) {
+        String text = value.toString();
+        return type.name() + ':' + (type == KeyType.ID ? text : text.toLowerCase(Locale.ROOT));
+    }
+    
+    private static final class Entry {
+        
+        private final UserDto user;
+        private final long expiresAt;
+        private final List<String> aliases;
+        
+        private Entry(UserDto user, long expiresAt, List<String> aliases) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+            this.aliases = aliases;
+        }
+    }
+}
\ No newline at end of file
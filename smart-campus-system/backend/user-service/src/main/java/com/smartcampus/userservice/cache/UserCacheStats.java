@@ -0,0 +1,49 @@
+package com.smartcampus.userservice.cache;
+
+public class UserCacheStats {
+    
+    private final int size;
+    private final int negativeSize;
+    private final long hits;
+    private final long misses;
+    private final long negativeHits;
+    private final long evictions;
+    
+    public UserCacheStats(int size, int negativeSize, long hits, long misses, long negativeHits, long evictions) {
+        this.size = size;
+        this.negativeSize = negativeSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.negativeHits = negativeHits;
+        this.evictions = evictions;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    public int getNegativeSize() {
+        return negativeSize;
+    }
+    
+    public long getHits() {
+        return hits;
+    }
+    
+    public long getMisses() {
+        return misses;
+    }
+    
+    public long getNegativeHits() {
+        return negativeHits;
+    }
+    
+    public long getEvictions() {
+        return evictions;
+    }
+    
+    public double getHitRatio() {
+        long lookups = hits + negativeHits + misses;
+        return lookups == 0 ? 0.0 : (double) (hits + negativeHits) / lookups;
+    }
+}
\ No newline at end of file
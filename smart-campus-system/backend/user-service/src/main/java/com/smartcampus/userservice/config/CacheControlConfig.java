@@ -0,0 +1,66 @@
+package com.smartcampus.userservice.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.server.WebFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Gives GET responses under {@code /users} an explicit {@code Cache-Control: private, max-age=...}
+ * so the gateway's response cache, which keys entries per caller, may keep them. Spring Security
+ * only writes its {@code no-cache, no-store} default when a response has no Cache-Control of its
+ * own, so writes and the actuator endpoints keep that default.
+ */
+@Configuration
+public class CacheControlConfig {
+    
+    private static final String USERS_PATH = "/users";
+    
+    @Value("${user-service.http.cache-max-age:30s}")
+    private Duration maxAge;
+    
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public OncePerRequestFilter cacheControlFilter() {
+        String cacheControl = cacheControl();
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                if (HttpMethod.GET.matches(request.getMethod()) && request.getServletPath().startsWith(USERS_PATH)) {
+                    response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+                }
+                chain.doFilter(request, response);
+            }
+        };
+    }
+    
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public WebFilter cacheControlWebFilter() {
+        String cacheControl = cacheControl();
+        return (exchange, chain) -> {
+            if (HttpMethod.GET.equals(exchange.getRequest().getMethod())
+                    && exchange.getRequest().getPath().pathWithinApplication().value().startsWith(USERS_PATH)) {
+                exchange.getResponse().getHeaders().set(HttpHeaders.CACHE_CONTROL, cacheControl);
+            }
+            return chain.filter(exchange);
+        };
+    }
+    
+    private String cacheControl() {
+        return CacheControl.maxAge(maxAge).cachePrivate().getHeaderValue();
+    }
+}
\ No newline at end of file
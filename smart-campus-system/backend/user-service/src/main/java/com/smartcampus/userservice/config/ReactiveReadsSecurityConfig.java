@@ -0,0 +1,53 @@
+package com.smartcampus.userservice.config;
+
+import com.smartcampus.userservice.security.CachingJwtDecoder;
+import com.smartcampus.userservice.security.InternalClaimsBearerTokenResolver;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.web.server.authentication.ServerBearerTokenAuthenticationConverter;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.ServerAuthenticationConverter;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Resource-server setup of the reactive-reads instance, matching the servlet one: the same token
+ * cache and local keys, and the same preference for the gateway's {@code X-Internal-Claims}
+ * header over the Authorization header.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveReadsSecurityConfig {
+    
+    @Bean
+    public ReactiveJwtDecoder reactiveJwtDecoder(CachingJwtDecoder decoder) {
+        // Cache hits stay on the event loop; a miss may have to re-fetch keys, so it is moved off it
+        return token -> {
+            Jwt cached = decoder.cached(token);
+            return cached != null
+                    ? Mono.just(cached)
+                    : Mono.fromCallable(() -> decoder.verify(token)).subscribeOn(Schedulers.boundedElastic());
+        };
+    }
+    
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, ReactiveJwtDecoder reactiveJwtDecoder,
+                                                         InternalClaimsBearerTokenResolver resolver) {
+        ServerBearerTokenAuthenticationConverter bearerTokenConverter = new ServerBearerTokenAuthenticationConverter();
+        ServerAuthenticationConverter tokenConverter = exchange -> {
+            String internal = resolver.internalClaims(
+                    exchange.getRequest().getHeaders().getFirst(InternalClaimsBearerTokenResolver.HEADER));
+            return internal != null ? Mono.just(new BearerTokenAuthenticationToken(internal)) : bearerTokenConverter.convert(exchange);
+        };
+        http.authorizeExchange(exchanges -> exchanges.anyExchange().authenticated())
+                .oauth2ResourceServer(resourceServer -> resourceServer
+                        .bearerTokenConverter(tokenConverter)
+                        .jwt(jwt -> jwt.jwtDecoder(reactiveJwtDecoder)));
+        return http.build();
+    }
+}
\ No newline at end of file
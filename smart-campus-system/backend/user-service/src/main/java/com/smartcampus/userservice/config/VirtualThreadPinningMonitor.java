@@ -0,0 +1,89 @@
+package com.smartcampus.userservice.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier, typically a JDBC driver or pool
+ * blocking on I/O inside a {@code synchronized} block.
+ * <p>
+ * Listens for the JDK's {@code jdk.VirtualThreadPinned} flight recorder events above a threshold.
+ * Each distinct call site is logged once with its stack and then only counted, in the
+ * {@code jvm.threads.virtual.pinned} meter tagged with the first application frame. Only active
+ * when virtual threads are enabled and the JVM supports them (Java 21+).
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+    
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.smartcampus.";
+    private static final int MAX_LOGGED_FRAMES = 25;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${user-service.virtual-threads.pinning-threshold:20ms}")
+    private Duration threshold;
+    
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    
+    private RecordingStream stream;
+    
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::report);
+        stream.startAsync();
+        log.info("Virtual threads enabled; reporting carrier pinning longer than {} ms", threshold.toMillis());
+    }
+    
+    @PreDestroy
+    void stop() {
+        stream.close();
+    }
+    
+    private void report(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+        String site = frames.stream()
+                .map(VirtualThreadPinningMonitor::describe)
+                .filter(frame -> frame.startsWith(APPLICATION_PACKAGE))
+                .findFirst()
+                .orElse("unknown");
+        
+        counters.computeIfAbsent(site, key -> {
+            StringBuilder stack = new StringBuilder();
+            frames.stream().limit(MAX_LOGGED_FRAMES).forEach(frame -> stack.append("\n\tat ").append(describe(frame)));
+            log.warn("Virtual thread pinned its carrier for {} ms at {}; further pinning here is only counted{}",
+                    event.getDuration().toMillis(), key, stack);
+            return Counter.builder("jvm.threads.virtual.pinned")
+                    .description("Virtual threads pinned to their carrier longer than the reporting threshold")
+                    .tag("site", key)
+                    .register(meterRegistry);
+        }).increment();
+    }
+    
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
\ No newline at end of file
@@ -1,30 +1,96 @@
 package com.smartcampus.userservice.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.smartcampus.userservice.cache.UserCache;
+import com.smartcampus.userservice.cache.UserCacheStats;
+import com.smartcampus.userservice.dto.BulkImportReport;
+import com.smartcampus.userservice.dto.UserBatchRequest;
+import com.smartcampus.userservice.dto.UserBatchResponse;
 import com.smartcampus.userservice.dto.UserDto;
+import com.smartcampus.userservice.dto.UserSeekPage;
+import com.smartcampus.userservice.dto.UserSortKey;
+import com.smartcampus.userservice.dto.UserStatusFilter;
+import com.smartcampus.userservice.dto.UserStatusJob;
 import com.smartcampus.userservice.entity.UserRole;
+import com.smartcampus.userservice.service.UserBulkImportService;
+import com.smartcampus.userservice.service.UserEtags;
+import com.smartcampus.userservice.service.UserExportWriter;
 import com.smartcampus.userservice.service.UserService;
+import com.smartcampus.userservice.service.UserStatusService;
+import com.smartcampus.userservice.service.UserVersionConflictException;
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/users")
 @CrossOrigin(origins = "http://localhost:4200")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class UserController {
     
+    private static final int MAX_SEEK_PAGE_SIZE = 500;
+    private static final int MAX_SEARCH_LIMIT = 200;
+    
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private UserBulkImportService userBulkImportService;
+    
+    @Autowired
+    private UserStatusService userStatusService;
+    
+    @Autowired
+    private UserCache userCache;
+    
+    @Autowired
+    private UserExportWriter userExportWriter;
+    
     @GetMapping
-    public ResponseEntity<List<UserDto>> getAllUsers() {
+    public ResponseEntity<List<UserDto>> getAllUsers(WebRequest request) {
+        String etag = userService.getAllUsersEtag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         List<UserDto> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+        return ResponseEntity.ok().eTag(etag).body(users);
+    }
+    
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsersAsNdjson() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> streamUsers(userExportWriter.ndjson(out)));
+    }
+    
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsersAsJsonArray() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> streamUsers(userExportWriter.jsonArray(out)));
+    }
+    
+    private void streamUsers(SequenceWriter writer) throws IOException {
+        try (writer) {
+            userService.exportUsers(writer);
+        }
     }
     
     @GetMapping("/paginated")
@@ -33,11 +99,40 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
     
+    @GetMapping("/seek")
+    public ResponseEntity<UserSeekPage> getUsersAfter(
+            @RequestParam(defaultValue = "username") String sort,
+            @RequestParam(required = false) String continuationToken,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        if (size < 1 || size > MAX_SEEK_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            UserSortKey sortKey = UserSortKey.fromParameter(sort);
+            return ResponseEntity.ok(userService.getUsersAfter(sortKey, continuationToken, size, includeTotal));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/cache/stats")
+    public ResponseEntity<UserCacheStats> getCacheStats() {
+        return ResponseEntity.ok(userCache.getStats());
+    }
+    
     @GetMapping("/{id}")
-    public ResponseEntity<UserDto> getUserById(@PathVariable Long id) {
-        return userService.getUserById(id)
-                .map(user -> ResponseEntity.ok(user))
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<UserDto> getUserById(@PathVariable Long id, WebRequest request) {
+        // The tag comes from the version on the (usually cached) DTO, so a 304 costs no query
+        Optional<UserDto> user = userService.getUserById(id);
+        if (user.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = UserEtags.of(user.get());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(user.get());
     }
     
     @GetMapping("/username/{username}")
@@ -62,26 +157,44 @@ public class UserController {
     }
     
     @GetMapping("/role/{role}")
-    public ResponseEntity<List<UserDto>> getUsersByRole(@PathVariable UserRole role) {
+    public ResponseEntity<List<UserDto>> getUsersByRole(@PathVariable UserRole role, WebRequest request) {
+        String etag = userService.getUsersByRoleEtag(role);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         List<UserDto> users = userService.getUsersByRole(role);
-        return ResponseEntity.ok(users);
+        return ResponseEntity.ok().eTag(etag).body(users);
     }
     
     @GetMapping("/department/{department}")
-    public ResponseEntity<List<UserDto>> getUsersByDepartment(@PathVariable String department) {
+    public ResponseEntity<List<UserDto>> getUsersByDepartment(@PathVariable String department, WebRequest request) {
+        String etag = userService.getUsersByDepartmentEtag(department);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         List<UserDto> users = userService.getUsersByDepartment(department);
-        return ResponseEntity.ok(users);
+        return ResponseEntity.ok().eTag(etag).body(users);
     }
     
     @GetMapping("/active/role/{role}")
-    public ResponseEntity<List<UserDto>> getActiveUsersByRole(@PathVariable UserRole role) {
+    public ResponseEntity<List<UserDto>> getActiveUsersByRole(@PathVariable UserRole role, WebRequest request) {
+        String etag = userService.getActiveUsersByRoleEtag(role);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         List<UserDto> users = userService.getActiveUsersByRole(role);
-        return ResponseEntity.ok(users);
+        return ResponseEntity.ok().eTag(etag).body(users);
     }
     
     @GetMapping("/search")
-    public ResponseEntity<List<UserDto>> searchUsers(@RequestParam String searchTerm) {
-        List<UserDto> users = userService.searchUsers(searchTerm);
+    public ResponseEntity<List<UserDto>> searchUsers(
+            @RequestParam String searchTerm,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "false") boolean fuzzy) {
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<UserDto> users = userService.searchUsers(searchTerm, limit, fuzzy);
         return ResponseEntity.ok(users);
     }
     
@@ -95,16 +208,64 @@ public class UserController {
         }
     }
     
+    @PostMapping("/batch")
+    public ResponseEntity<UserBatchResponse> getUsersInBatch(@RequestBody UserBatchRequest request) {
+        try {
+            return ResponseEntity.ok(userService.getUsersInBatch(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<BulkImportReport> importUsersFromCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(userBulkImportService.importCsv(body));
+    }
+    
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkImportReport> importUsersFromNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok(userBulkImportService.importNdjson(body));
+    }
+    
     @PutMapping("/{id}")
-    public ResponseEntity<UserDto> updateUser(@PathVariable Long id, @Valid @RequestBody UserDto userDto) {
+    public ResponseEntity<UserDto> updateUser(@PathVariable Long id, @Valid @RequestBody UserDto userDto,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            UserDto updatedUser = userService.updateUser(id, userDto);
-            return ResponseEntity.ok(updatedUser);
+            Long expectedVersion = ifMatch != null ? UserEtags.parseVersion(id, ifMatch) : userDto.getVersion();
+            UserDto updatedUser = userService.updateUser(id, userDto, expectedVersion);
+            return ResponseEntity.ok().eTag(UserEtags.of(updatedUser)).body(updatedUser);
+        } catch (UserVersionConflictException e) {
+            return conflict(id);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
     
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<UserDto> patchUser(@PathVariable Long id, @RequestBody JsonNode patch,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            Long expectedVersion = ifMatch != null ? UserEtags.parseVersion(id, ifMatch) : null;
+            UserDto patchedUser = userService.patchUser(id, patch, expectedVersion);
+            return ResponseEntity.ok().eTag(UserEtags.of(patchedUser)).body(patchedUser);
+        } catch (UserVersionConflictException e) {
+            return conflict(id);
+        } catch (IllegalArgumentException | ConstraintViolationException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    // 409 carries the current state so the client can re-apply its edit on top of it
+    private ResponseEntity<UserDto> conflict(Long id) {
+        return userService.getUserById(id)
+                .map(user -> ResponseEntity.status(HttpStatus.CONFLICT).eTag(UserEtags.of(user)).body(user))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
         try {
@@ -115,6 +276,39 @@ public class UserController {
         }
     }
     
+    @PostMapping("/deactivate")
+    public ResponseEntity<UserStatusJob> deactivateUsers(@RequestBody UserStatusFilter filter,
+                                                         @RequestParam(defaultValue = "false") boolean async) {
+        return changeStatus(filter, false, async);
+    }
+    
+    @PostMapping("/activate")
+    public ResponseEntity<UserStatusJob> activateUsers(@RequestBody UserStatusFilter filter,
+                                                       @RequestParam(defaultValue = "false") boolean async) {
+        return changeStatus(filter, true, async);
+    }
+    
+    @GetMapping("/status-jobs/{jobId}")
+    public ResponseEntity<UserStatusJob> getStatusJob(@PathVariable String jobId) {
+        return userStatusService.getJob(jobId)
+                .map(job -> ResponseEntity.ok(job))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    private ResponseEntity<UserStatusJob> changeStatus(UserStatusFilter filter, boolean active, boolean async) {
+        try {
+            if (async) {
+                UserStatusJob job = userStatusService.changeStatusAsync(filter, active);
+                return ResponseEntity.accepted()
+                        .location(URI.create("/users/status-jobs/" + job.getId()))
+                        .body(job);
+            }
+            return ResponseEntity.ok(userStatusService.changeStatus(filter, active));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     @PutMapping("/{id}/deactivate")
     public ResponseEntity<UserDto> deactivateUser(@PathVariable Long id) {
         try {
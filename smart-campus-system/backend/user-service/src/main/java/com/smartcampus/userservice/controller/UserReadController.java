@@ -0,0 +1,103 @@
+package com.smartcampus.userservice.controller;
+
+import com.smartcampus.userservice.dto.UserCollectionStamp;
+import com.smartcampus.userservice.dto.UserDto;
+import com.smartcampus.userservice.entity.UserRecord;
+import com.smartcampus.userservice.entity.UserRole;
+import com.smartcampus.userservice.repository.ReactiveUserRepository;
+import com.smartcampus.userservice.service.UserEtags;
+import com.smartcampus.userservice.service.UserMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of the GET endpoints in {@link UserController}, served when the
+ * service runs as a reactive web application (the {@code reactive-reads} profile).
+ * <p>
+ * Lists are streamed straight from R2DBC: with {@code Accept: application/x-ndjson} each user
+ * is written as soon as it is read, and the driver only fetches as fast as the client consumes.
+ * List ETags come from a count/max(updated_at) query, so a 304 never touches the rows.
+ */
+@RestController
+@RequestMapping("/users")
+@CrossOrigin(origins = "http://localhost:4200")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class UserReadController {
+    
+    @Autowired
+    private ReactiveUserRepository reactiveUserRepository;
+    
+    @Autowired
+    private UserMapper userMapper;
+    
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<Flux<UserDto>>> getAllUsers() {
+        return stream(reactiveUserRepository.findStamp(), reactiveUserRepository.findAll());
+    }
+    
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<UserDto> exportUsers() {
+        return reactiveUserRepository.streamAll().map(userMapper::toDto);
+    }
+    
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<UserDto>> getUserById(@PathVariable Long id) {
+        return single(reactiveUserRepository.findById(id))
+                .map(user -> ResponseEntity.ok().eTag(UserEtags.of(user)).body(user))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping("/username/{username}")
+    public Mono<ResponseEntity<UserDto>> getUserByUsername(@PathVariable String username) {
+        return single(reactiveUserRepository.findByUsername(username))
+                .map(user -> ResponseEntity.ok(user))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping("/email/{email}")
+    public Mono<ResponseEntity<UserDto>> getUserByEmail(@PathVariable String email) {
+        return single(reactiveUserRepository.findByEmail(email))
+                .map(user -> ResponseEntity.ok(user))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping("/student/{studentId}")
+    public Mono<ResponseEntity<UserDto>> getUserByStudentId(@PathVariable String studentId) {
+        return single(reactiveUserRepository.findByStudentId(studentId))
+                .map(user -> ResponseEntity.ok(user))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping(value = "/role/{role}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<Flux<UserDto>>> getUsersByRole(@PathVariable UserRole role) {
+        return stream(reactiveUserRepository.findStampByRole(role), reactiveUserRepository.findByRole(role));
+    }
+    
+    @GetMapping(value = "/department/{department}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<Flux<UserDto>>> getUsersByDepartment(@PathVariable String department) {
+        return stream(reactiveUserRepository.findStampByDepartment(department),
+                reactiveUserRepository.findByDepartment(department));
+    }
+    
+    @GetMapping(value = "/active/role/{role}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<Flux<UserDto>>> getActiveUsersByRole(@PathVariable UserRole role) {
+        return stream(reactiveUserRepository.findActiveStampByRole(role),
+                reactiveUserRepository.findActiveUsersByRole(role));
+    }
+    
+    private Mono<UserDto> single(Mono<UserRecord> record) {
+        return record.map(userMapper::toDto);
+    }
+    
+    // The rows are only queried once the ETag check has passed; a matching If-None-Match ends at the stamp
+    private Mono<ResponseEntity<Flux<UserDto>>> stream(Mono<UserCollectionStamp> stamp, Flux<UserRecord> rows) {
+        return stamp.map(current -> ResponseEntity.ok()
+                .eTag(UserEtags.of(current))
+                .body(rows.map(userMapper::toDto)));
+    }
+}
\ No newline at end of file
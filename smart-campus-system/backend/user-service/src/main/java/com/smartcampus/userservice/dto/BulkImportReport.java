@@ -0,0 +1,67 @@
+package com.smartcampus.userservice.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkImportReport {
+    
+    private long total;
+    private long succeeded;
+    private long failed;
+    private long elapsedMillis;
+    private List<BulkImportRowResult> rows = new ArrayList<>();
+    
+    // Constructors
+    public BulkImportReport() {}
+    
+    public void add(BulkImportRowResult result) {
+        rows.add(result);
+        total++;
+        if (result.isSuccess()) {
+            succeeded++;
+        } else {
+            failed++;
+        }
+    }
+    
+    // Getters and Setters
+    public long getTotal() {
+        return total;
+    }
+    
+    public void setTotal(long total) {
+        this.total = total;
+    }
+    
+    public long getSucceeded() {
+        return succeeded;
+    }
+    
+    public void setSucceeded(long succeeded) {
+        this.succeeded = succeeded;
+    }
+    
+    public long getFailed() {
+        return failed;
+    }
+    
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    public List<BulkImportRowResult> getRows() {
+        return rows;
+    }
+    
+    public void setRows(List<BulkImportRowResult> rows) {
+        this.rows = rows;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.smartcampus.userservice.dto;
+
+public class BulkImportRowResult {
+    
+    private long row;
+    private String username;
+    private boolean success;
+    private Long id;
+    private String studentId;
+    private String employeeId;
+    private String error;
+    
+    // Constructors
+    public BulkImportRowResult() {}
+    
+    public static BulkImportRowResult success(long row, UserDto user) {
+        BulkImportRowResult result = new BulkImportRowResult();
+        result.row = row;
+        result.username = user.getUsername();
+        result.success = true;
+        result.id = user.getId();
+        result.studentId = user.getStudentId();
+        result.employeeId = user.getEmployeeId();
+        return result;
+    }
+    
+    public static BulkImportRowResult failure(long row, String username, String error) {
+        BulkImportRowResult result = new BulkImportRowResult();
+        result.row = row;
+        result.username = username;
+        result.success = false;
+        result.error = error;
+        return result;
+    }
+    
+    // Getters and Setters
+    public long getRow() {
+        return row;
+    }
+    
+    public void setRow(long row) {
+        this.row = row;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public void setUsername(String username) {
+        this.username = username;
+    }
+    
+    public boolean isSuccess() {
+        return success;
+    }
+    
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(String studentId) {
+        this.studentId = studentId;
+    }
+    
+    public String getEmployeeId() {
+        return employeeId;
+    }
+    
+    public void setEmployeeId(String employeeId) {
+        this.employeeId = employeeId;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+}
\ No newline at end of file
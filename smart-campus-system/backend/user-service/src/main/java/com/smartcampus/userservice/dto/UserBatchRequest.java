@@ -0,0 +1,54 @@
+package com.smartcampus.userservice.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class UserBatchRequest {
+    
+    private List<Long> ids = new ArrayList<>();
+    private List<String> usernames = new ArrayList<>();
+    private List<String> studentIds = new ArrayList<>();
+    
+    // Optional sparse field set, e.g. ["id", "firstName", "lastName"]; all fields when empty
+    private List<String> fields = new ArrayList<>();
+    
+    // Constructors
+    public UserBatchRequest() {}
+    
+    public int keyCount() {
+        return ids.size() + usernames.size() + studentIds.size();
+    }
+    
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<Long> ids) {
+        this.ids = ids != null ? ids : new ArrayList<>();
+    }
+    
+    public List<String> getUsernames() {
+        return usernames;
+    }
+    
+    public void setUsernames(List<String> usernames) {
+        this.usernames = usernames != null ? usernames : new ArrayList<>();
+    }
+    
+    public List<String> getStudentIds() {
+        return studentIds;
+    }
+    
+    public void setStudentIds(List<String> studentIds) {
+        this.studentIds = studentIds != null ? studentIds : new ArrayList<>();
+    }
+    
+    public List<String> getFields() {
+        return fields;
+    }
+    
+    public void setFields(List<String> fields) {
+        this.fields = fields != null ? fields : new ArrayList<>();
+    }
+}
\ No newline at end of file
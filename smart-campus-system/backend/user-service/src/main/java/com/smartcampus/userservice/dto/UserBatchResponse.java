@@ -0,0 +1,49 @@
+package com.smartcampus.userservice.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class UserBatchResponse {
+    
+    // Found users in request order: ids first, then usernames, then student ids
+    private List<Object> users = new ArrayList<>();
+    private List<Long> missingIds = new ArrayList<>();
+    private List<String> missingUsernames = new ArrayList<>();
+    private List<String> missingStudentIds = new ArrayList<>();
+    
+    // Constructors
+    public UserBatchResponse() {}
+    
+    // Getters and Setters
+    public List<Object> getUsers() {
+        return users;
+    }
+    
+    public void setUsers(List<Object> users) {
+        this.users = users;
+    }
+    
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+    
+    public void setMissingIds(List<Long> missingIds) {
+        this.missingIds = missingIds;
+    }
+    
+    public List<String> getMissingUsernames() {
+        return missingUsernames;
+    }
+    
+    public void setMissingUsernames(List<String> missingUsernames) {
+        this.missingUsernames = missingUsernames;
+    }
+    
+    public List<String> getMissingStudentIds() {
+        return missingStudentIds;
+    }
+    
+    public void setMissingStudentIds(List<String> missingStudentIds) {
+        this.missingStudentIds = missingStudentIds;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.smartcampus.userservice.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row count, latest modification time and sum of row versions of a set of users, enough to
+ * tell whether a list response has changed without reading the rows themselves.
+ */
+public class UserCollectionStamp {
+    
+    private long count;
+    private LocalDateTime lastModified;
+    private long versionSum;
+    
+    // Constructors
+    public UserCollectionStamp() {}
+    
+    public UserCollectionStamp(Long count, LocalDateTime lastModified, Long versionSum) {
+        this.count = count != null ? count : 0;
+        this.lastModified = lastModified;
+        this.versionSum = versionSum != null ? versionSum : 0;
+    }
+    
+    // Getters and Setters
+    public long getCount() {
+        return count;
+    }
+    
+    public void setCount(long count) {
+        this.count = count;
+    }
+    
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+    
+    public void setLastModified(LocalDateTime lastModified) {
+        this.lastModified = lastModified;
+    }
+    
+    public long getVersionSum() {
+        return versionSum;
+    }
+    
+    public void setVersionSum(long versionSum) {
+        this.versionSum = versionSum;
+    }
+}
\ No newline at end of file
@@ -36,6 +36,7 @@ public class UserDto {
     private String dateOfBirth;
     private String address;
     private Boolean isActive;
+    private Long version;
     
     // Constructors
     public UserDto() {}
@@ -48,6 +49,27 @@ public class UserDto {
         this.role = role;
     }
     
+    // Used by JPQL constructor projections, see UserRepository
+    public UserDto(Long id, String username, String email, String firstName, String lastName, String phoneNumber,
+                   UserRole role, String studentId, String employeeId, String department, Integer yearOfStudy,
+                   String dateOfBirth, String address, Boolean isActive, Long version) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.phoneNumber = phoneNumber;
+        this.role = role;
+        this.studentId = studentId;
+        this.employeeId = employeeId;
+        this.department = department;
+        this.yearOfStudy = yearOfStudy;
+        this.dateOfBirth = dateOfBirth;
+        this.address = address;
+        this.isActive = isActive;
+        this.version = version;
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
@@ -160,4 +182,12 @@ public class UserDto {
     public void setIsActive(Boolean isActive) {
         this.isActive = isActive;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.smartcampus.userservice.dto;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Sparse field sets over {@link UserDto}: copies only the requested properties into a map so
+ * callers that need a handful of fields don't pay for serializing the whole DTO.
+ */
+public final class UserFields {
+    
+    private static final Map<String, Function<UserDto, Object>> ACCESSORS = new LinkedHashMap<>();
+    
+    static {
+        ACCESSORS.put("id", UserDto::getId);
+        ACCESSORS.put("username", UserDto::getUsername);
+        ACCESSORS.put("email", UserDto::getEmail);
+        ACCESSORS.put("firstName", UserDto::getFirstName);
+        ACCESSORS.put("lastName", UserDto::getLastName);
+        ACCESSORS.put("phoneNumber", UserDto::getPhoneNumber);
+        ACCESSORS.put("role", UserDto::getRole);
+        ACCESSORS.put("studentId", UserDto::getStudentId);
+        ACCESSORS.put("employeeId", UserDto::getEmployeeId);
+        ACCESSORS.put("department", UserDto::getDepartment);
+        ACCESSORS.put("yearOfStudy", UserDto::getYearOfStudy);
+        ACCESSORS.put("dateOfBirth", UserDto::getDateOfBirth);
+        ACCESSORS.put("address", UserDto::getAddress);
+        ACCESSORS.put("isActive", UserDto::getIsActive);
+        ACCESSORS.put("version", UserDto::getVersion);
+    }
+    
+    private UserFields() {}
+    
+    public static void validate(List<String> fields) {
+        for (String field : fields) {
+            if (!ACCESSORS.containsKey(field)) {
+                throw new IllegalArgumentException("Unknown user field: " + field);
+            }
+        }
+    }
+    
+    public static Map<String, Object> select(UserDto user, List<String> fields) {
+        Map<String, Object> values = new LinkedHashMap<>(fields.size() * 2);
+        for (String field : fields) {
+            values.put(field, ACCESSORS.get(field).apply(user));
+        }
+        return values;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.smartcampus.userservice.dto;
+
+import java.util.List;
+
+public class UserSeekPage {
+    
+    private List<UserDto> content;
+    private UserSortKey sort;
+    private int size;
+    private boolean hasNext;
+    private String continuationToken;
+    private Long totalElements;
+    
+    // Constructors
+    public UserSeekPage() {}
+    
+    public UserSeekPage(List<UserDto> content, UserSortKey sort, int size, String continuationToken, Long totalElements) {
+        this.content = content;
+        this.sort = sort;
+        this.size = size;
+        this.hasNext = continuationToken != null;
+        this.continuationToken = continuationToken;
+        this.totalElements = totalElements;
+    }
+    
+    // Getters and Setters
+    public List<UserDto> getContent() {
+        return content;
+    }
+    
+    public void setContent(List<UserDto> content) {
+        this.content = content;
+    }
+    
+    public UserSortKey getSort() {
+        return sort;
+    }
+    
+    public void setSort(UserSortKey sort) {
+        this.sort = sort;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    public void setSize(int size) {
+        this.size = size;
+    }
+    
+    public boolean isHasNext() {
+        return hasNext;
+    }
+    
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+    
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+    
+    public void setContinuationToken(String continuationToken) {
+        this.continuationToken = continuationToken;
+    }
+    
+    public Long getTotalElements() {
+        return totalElements;
+    }
+    
+    public void setTotalElements(Long totalElements) {
+        this.totalElements = totalElements;
+    }
+}
\ No newline at end of file
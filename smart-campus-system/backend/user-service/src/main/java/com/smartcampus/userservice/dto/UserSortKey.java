@@ -0,0 +1,26 @@
+package com.smartcampus.userservice.dto;
+
+public enum UserSortKey {
+    USERNAME("username"),
+    CREATED_AT("createdAt"),
+    DEPARTMENT("department");
+    
+    private final String property;
+    
+    UserSortKey(String property) {
+        this.property = property;
+    }
+    
+    public String getProperty() {
+        return property;
+    }
+    
+    public static UserSortKey fromParameter(String value) {
+        for (UserSortKey key : values()) {
+            if (key.property.equalsIgnoreCase(value) || key.name().equalsIgnoreCase(value)) {
+                return key;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort key: " + value);
+    }
+}
\ No newline at end of file
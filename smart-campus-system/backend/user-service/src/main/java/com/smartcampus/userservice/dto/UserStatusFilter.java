@@ -0,0 +1,58 @@
+package com.smartcampus.userservice.dto;
+
+import com.smartcampus.userservice.entity.UserRole;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Selects the users a bulk activate/deactivate applies to. Criteria are combined with AND;
+ * at least one must be given.
+ */
+public class UserStatusFilter {
+    
+    private UserRole role;
+    private String department;
+    private Integer yearOfStudy;
+    private List<Long> ids = new ArrayList<>();
+    
+    // Constructors
+    public UserStatusFilter() {}
+    
+    public boolean isEmpty() {
+        return role == null && department == null && yearOfStudy == null && ids.isEmpty();
+    }
+    
+    // Getters and Setters
+    public UserRole getRole() {
+        return role;
+    }
+    
+    public void setRole(UserRole role) {
+        this.role = role;
+    }
+    
+    public String getDepartment() {
+        return department;
+    }
+    
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+    
+    public Integer getYearOfStudy() {
+        return yearOfStudy;
+    }
+    
+    public void setYearOfStudy(Integer yearOfStudy) {
+        this.yearOfStudy = yearOfStudy;
+    }
+    
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<Long> ids) {
+        this.ids = ids != null ? ids : new ArrayList<>();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.smartcampus.userservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a bulk activate/deactivate. Counters are updated by the worker after every
+ * chunk, so polling the job shows how far a large run has got.
+ */
+public class UserStatusJob {
+    
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+    
+    private String id;
+    private boolean active;
+    private volatile Status status = Status.RUNNING;
+    private volatile long matched;
+    private volatile long processed;
+    private volatile long affected;
+    private volatile String error;
+    private LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    
+    // Constructors
+    public UserStatusJob() {}
+    
+    public UserStatusJob(String id, boolean active) {
+        this.id = id;
+        this.active = active;
+        this.startedAt = LocalDateTime.now();
+    }
+    
+    @JsonIgnore
+    public boolean isFinished() {
+        return status != Status.RUNNING;
+    }
+    
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public boolean isActive() {
+        return active;
+    }
+    
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+    
+    public long getMatched() {
+        return matched;
+    }
+    
+    public void setMatched(long matched) {
+        this.matched = matched;
+    }
+    
+    public long getProcessed() {
+        return processed;
+    }
+    
+    public void setProcessed(long processed) {
+        this.processed = processed;
+    }
+    
+    public long getAffected() {
+        return affected;
+    }
+    
+    public void setAffected(long affected) {
+        this.affected = affected;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+    
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.smartcampus.userservice.entity;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "id_sequences")
+public class IdSequence {
+    
+    @Id
+    @Column(length = 16)
+    private String prefix;
+    
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+    
+    // Constructors
+    public IdSequence() {}
+    
+    public IdSequence(String prefix, Long nextValue) {
+        this.prefix = prefix;
+        this.nextValue = nextValue;
+    }
+    
+    // Getters and Setters
+    public String getPrefix() {
+        return prefix;
+    }
+    
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+    
+    public Long getNextValue() {
+        return nextValue;
+    }
+    
+    public void setNextValue(Long nextValue) {
+        this.nextValue = nextValue;
+    }
+}
\ No newline at end of file
@@ -1,13 +1,17 @@
 package com.smartcampus.userservice.entity;
 
+import com.smartcampus.userservice.search.UserSearchIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 
 @Entity
+@DynamicUpdate
+@EntityListeners(UserSearchIndexListener.class)
 @Table(name = "users")
 public class User {
     
@@ -68,6 +72,11 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt = LocalDateTime.now();
     
+    // Optimistic lock: concurrent edits fail with a conflict instead of overwriting each other
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version = 0L;
+    
     // Constructors
     public User() {}
     
@@ -208,6 +217,14 @@ public class User {
         this.updatedAt = updatedAt;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
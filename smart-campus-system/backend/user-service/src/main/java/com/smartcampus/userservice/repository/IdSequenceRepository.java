@@ -0,0 +1,25 @@
+package com.smartcampus.userservice.repository;
+
+import com.smartcampus.userservice.entity.IdSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface IdSequenceRepository extends JpaRepository<IdSequence, String> {
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM IdSequence s WHERE s.prefix = :prefix")
+    Optional<IdSequence> findForUpdate(@Param("prefix") String prefix);
+    
+    // Plain INSERT rather than save(): a merge could overwrite a row another instance just created
+    @Modifying
+    @Query(value = "INSERT INTO id_sequences (prefix, next_value) VALUES (:prefix, :nextValue)", nativeQuery = true)
+    int insert(@Param("prefix") String prefix, @Param("nextValue") long nextValue);
+}
\ No newline at end of file
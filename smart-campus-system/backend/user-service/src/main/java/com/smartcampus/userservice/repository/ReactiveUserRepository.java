@@ -0,0 +1,50 @@
+package com.smartcampus.userservice.repository;
+
+import com.smartcampus.userservice.dto.UserCollectionStamp;
+import com.smartcampus.userservice.entity.UserRecord;
+import com.smartcampus.userservice.entity.UserRole;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking mirror of the read finders in {@link UserRepository}, for the reactive read API.
+ * Multi-row finders return a {@link Flux} that emits rows as the driver decodes them, so a
+ * slow consumer throttles the query instead of buffering the whole result.
+ */
+@Repository
+public interface ReactiveUserRepository extends R2dbcRepository<UserRecord, Long> {
+    
+    String USER_STAMP_SELECT = "SELECT COUNT(*) AS count, MAX(updated_at) AS last_modified, "
+            + "COALESCE(SUM(version), 0) AS version_sum FROM users";
+    
+    Mono<UserRecord> findByUsername(String username);
+    
+    Mono<UserRecord> findByEmail(String email);
+    
+    Mono<UserRecord> findByStudentId(String studentId);
+    
+    Flux<UserRecord> findByRole(UserRole role);
+    
+    Flux<UserRecord> findByDepartment(String department);
+    
+    @Query("SELECT * FROM users WHERE role = :role AND is_active = true")
+    Flux<UserRecord> findActiveUsersByRole(UserRole role);
+    
+    @Query("SELECT * FROM users ORDER BY id")
+    Flux<UserRecord> streamAll();
+    
+    @Query(USER_STAMP_SELECT)
+    Mono<UserCollectionStamp> findStamp();
+    
+    @Query(USER_STAMP_SELECT + " WHERE role = :role")
+    Mono<UserCollectionStamp> findStampByRole(UserRole role);
+    
+    @Query(USER_STAMP_SELECT + " WHERE department = :department")
+    Mono<UserCollectionStamp> findStampByDepartment(String department);
+    
+    @Query(USER_STAMP_SELECT + " WHERE role = :role AND is_active = true")
+    Mono<UserCollectionStamp> findActiveStampByRole(UserRole role);
+}
\ No newline at end of file
@@ -1,17 +1,36 @@
 package com.smartcampus.userservice.repository;
 
+import com.smartcampus.userservice.dto.UserCollectionStamp;
+import com.smartcampus.userservice.dto.UserDto;
 import com.smartcampus.userservice.entity.User;
 import com.smartcampus.userservice.entity.UserRole;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+    
+    // Selects straight into UserDto: no managed entities, no dirty-checking snapshots
+    String USER_DTO_SELECT = "SELECT new com.smartcampus.userservice.dto.UserDto(u.id, u.username, u.email, "
+            + "u.firstName, u.lastName, u.phoneNumber, u.role, u.studentId, u.employeeId, u.department, "
+            + "u.yearOfStudy, u.dateOfBirth, u.address, u.isActive, u.version) FROM User u";
     
     Optional<User> findByUsername(String username);
     
@@ -21,6 +40,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     Optional<User> findByEmployeeId(String employeeId);
     
+    List<User> findByUsernameIn(Collection<String> usernames);
+    
+    List<User> findByStudentIdIn(Collection<String> studentIds);
+    
     List<User> findByRole(UserRole role);
     
     List<User> findByDepartment(String department);
@@ -35,10 +58,75 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.department = :department AND u.isActive = true")
     List<User> findActiveUsersByDepartment(@Param("department") String department);
     
+    @Query(USER_DTO_SELECT)
+    List<UserDto> findAllDtos();
+    
+    @Query(value = USER_DTO_SELECT, countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserDto> findAllDtos(Pageable pageable);
+    
+    @Query(USER_DTO_SELECT + " WHERE u.role = :role")
+    List<UserDto> findDtosByRole(@Param("role") UserRole role);
+    
+    @Query(USER_DTO_SELECT + " WHERE u.department = :department")
+    List<UserDto> findDtosByDepartment(@Param("department") String department);
+    
+    @Query(USER_DTO_SELECT + " WHERE u.role = :role AND u.isActive = true")
+    List<UserDto> findActiveDtosByRole(@Param("role") UserRole role);
+    
+    // Validator queries for conditional GETs: aggregate over the same rows the list endpoints return
+    String USER_STAMP_SELECT = "SELECT new com.smartcampus.userservice.dto.UserCollectionStamp(COUNT(u), MAX(u.updatedAt), SUM(u.version)) "
+            + "FROM User u";
+    
+    @Query(USER_STAMP_SELECT)
+    UserCollectionStamp findStamp();
+    
+    @Query(USER_STAMP_SELECT + " WHERE u.role = :role")
+    UserCollectionStamp findStampByRole(@Param("role") UserRole role);
+    
+    @Query(USER_STAMP_SELECT + " WHERE u.department = :department")
+    UserCollectionStamp findStampByDepartment(@Param("department") String department);
+    
+    @Query(USER_STAMP_SELECT + " WHERE u.role = :role AND u.isActive = true")
+    UserCollectionStamp findActiveStampByRole(@Param("role") UserRole role);
+    
     @Query("SELECT u FROM User u WHERE " +
            "(u.firstName LIKE %:searchTerm% OR u.lastName LIKE %:searchTerm% OR " +
            "u.username LIKE %:searchTerm% OR u.email LIKE %:searchTerm%)")
-    List<User> searchUsers(@Param("searchTerm") String searchTerm);
+    List<User> searchUsers(@Param("searchTerm") String searchTerm, Pageable pageable);
+    
+    // Forward-only cursor over the whole table; callers must consume it inside a transaction
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM User u ORDER BY u.id")
+    Stream<User> streamAll();
+    
+    @Query("SELECT u.studentId FROM User u WHERE u.studentId LIKE CONCAT(:prefix, '%')")
+    List<String> findStudentIdsStartingWith(@Param("prefix") String prefix);
+    
+    @Query("SELECT u.employeeId FROM User u WHERE u.employeeId LIKE CONCAT(:prefix, '%')")
+    List<String> findEmployeeIdsStartingWith(@Param("prefix") String prefix);
+    
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+    
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    @Query("SELECT u.studentId FROM User u WHERE u.studentId IN :studentIds")
+    List<String> findExistingStudentIds(@Param("studentIds") Collection<String> studentIds);
+    
+    @Query("SELECT u.employeeId FROM User u WHERE u.employeeId IN :employeeIds")
+    List<String> findExistingEmployeeIds(@Param("employeeIds") Collection<String> employeeIds);
+    
+    // Bumps the version so concurrent edits of these users fail their optimistic check
+    @Modifying
+    @Query("UPDATE User u SET u.isActive = :active, u.updatedAt = :now, u.version = u.version + 1 "
+            + "WHERE u.id IN :ids AND (u.isActive IS NULL OR u.isActive <> :active)")
+    int updateActiveByIds(@Param("ids") Collection<Long> ids, @Param("active") boolean active,
+                          @Param("now") LocalDateTime now);
     
     boolean existsByUsername(String username);
     
@@ -0,0 +1,29 @@
+package com.smartcampus.userservice.repository;
+
+import com.smartcampus.userservice.dto.UserSortKey;
+import com.smartcampus.userservice.dto.UserStatusFilter;
+import com.smartcampus.userservice.entity.User;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface UserRepositoryCustom {
+    
+    /**
+     * Keyset (seek) page: returns up to {@code limit} users ordered by {@code (sortKey, id)}
+     * that come strictly after the given position. Pass {@code lastId == null} for the first page.
+     */
+    List<User> findPageAfter(UserSortKey sortKey, Object lastKey, Long lastId, int limit);
+    
+    /**
+     * Counts the users matching {@code filter} whose active flag differs from {@code active}.
+     * When {@code ids} is given only those users are considered.
+     */
+    long countForStatusChange(UserStatusFilter filter, Collection<Long> ids, boolean active);
+    
+    /**
+     * Ids of users matching {@code filter} whose active flag differs from {@code active}, in id
+     * order after {@code afterId}. When {@code ids} is given only those users are considered.
+     */
+    List<Long> findIdsForStatusChange(UserStatusFilter filter, Collection<Long> ids, boolean active, Long afterId, int limit);
+}
\ No newline at end of file
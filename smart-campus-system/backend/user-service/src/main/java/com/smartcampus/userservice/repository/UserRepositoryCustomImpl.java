@@ -0,0 +1,102 @@
+package com.smartcampus.userservice.repository;
+
+import com.smartcampus.userservice.dto.UserSortKey;
+import com.smartcampus.userservice.dto.UserStatusFilter;
+import com.smartcampus.userservice.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.Collection;
+import java.util.List;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<User> findPageAfter(UserSortKey sortKey, Object lastKey, Long lastId, int limit) {
+        // Property names come from the UserSortKey whitelist, never from user input
+        String key = "u." + sortKey.getProperty();
+        StringBuilder jpql = new StringBuilder("SELECT u FROM User u");
+        if (lastId != null) {
+            if (lastKey != null) {
+                jpql.append(" WHERE ").append(key).append(" > :lastKey OR (")
+                        .append(key).append(" = :lastKey AND u.id > :lastId)");
+            } else {
+                // NULL keys sort first on MySQL, so everything non-null is still ahead of us
+                jpql.append(" WHERE (").append(key).append(" IS NULL AND u.id > :lastId) OR ")
+                        .append(key).append(" IS NOT NULL");
+            }
+        }
+        jpql.append(" ORDER BY ").append(key).append(" ASC, u.id ASC");
+        
+        TypedQuery<User> query = entityManager.createQuery(jpql.toString(), User.class)
+                .setMaxResults(limit);
+        if (lastId != null) {
+            query.setParameter("lastId", lastId);
+            if (lastKey != null) {
+                query.setParameter("lastKey", lastKey);
+            }
+        }
+        return query.getResultList();
+    }
+    
+    @Override
+    public long countForStatusChange(UserStatusFilter filter, Collection<Long> ids, boolean active) {
+        String jpql = "SELECT COUNT(u) FROM User u" + statusChangeWhere(filter, ids, null);
+        TypedQuery<Long> query = entityManager.createQuery(jpql, Long.class);
+        bindStatusChange(query, filter, ids, active, null);
+        return query.getSingleResult();
+    }
+    
+    @Override
+    public List<Long> findIdsForStatusChange(UserStatusFilter filter, Collection<Long> ids, boolean active, Long afterId, int limit) {
+        String jpql = "SELECT u.id FROM User u" + statusChangeWhere(filter, ids, afterId) + " ORDER BY u.id ASC";
+        TypedQuery<Long> query = entityManager.createQuery(jpql, Long.class)
+                .setMaxResults(limit);
+        bindStatusChange(query, filter, ids, active, afterId);
+        return query.getResultList();
+    }
+    
+    // Rows already in the target state are skipped, so re-running a job only touches what is left
+    private String statusChangeWhere(UserStatusFilter filter, Collection<Long> ids, Long afterId) {
+        StringBuilder where = new StringBuilder(" WHERE (u.isActive IS NULL OR u.isActive <> :active)");
+        if (filter.getRole() != null) {
+            where.append(" AND u.role = :role");
+        }
+        if (filter.getDepartment() != null) {
+            where.append(" AND u.department = :department");
+        }
+        if (filter.getYearOfStudy() != null) {
+            where.append(" AND u.yearOfStudy = :yearOfStudy");
+        }
+        if (ids != null) {
+            where.append(" AND u.id IN :ids");
+        }
+        if (afterId != null) {
+            where.append(" AND u.id > :afterId");
+        }
+        return where.toString();
+    }
+    
+    private void bindStatusChange(TypedQuery<?> query, UserStatusFilter filter, Collection<Long> ids, boolean active, Long afterId) {
+        query.setParameter("active", active);
+        if (filter.getRole() != null) {
+            query.setParameter("role", filter.getRole());
+        }
+        if (filter.getDepartment() != null) {
+            query.setParameter("department", filter.getDepartment());
+        }
+        if (filter.getYearOfStudy() != null) {
+            query.setParameter("yearOfStudy", filter.getYearOfStudy());
+        }
+        if (ids != null) {
+            query.setParameter("ids", ids);
+        }
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+        }
+    }
+}
\ No newline at end of file
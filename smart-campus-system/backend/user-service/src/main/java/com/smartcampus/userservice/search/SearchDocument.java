@@ -0,0 +1,38 @@
+package com.smartcampus.userservice.search;
+
+import com.smartcampus.userservice.entity.User;
+
+/**
+ * Snapshot of the searchable fields of a user, taken when the entity is loaded or written.
+ */
+public final class SearchDocument {
+    
+    private final Long id;
+    private final String[] words;
+    
+    private SearchDocument(Long id, String[] words) {
+        this.id = id;
+        this.words = words;
+    }
+    
+    public static SearchDocument of(User user) {
+        String text = String.join(" ",
+                nullToEmpty(user.getFirstName()),
+                nullToEmpty(user.getLastName()),
+                nullToEmpty(user.getUsername()),
+                nullToEmpty(user.getEmail()));
+        return new SearchDocument(user.getId(), UserSearchIndex.tokenize(text));
+    }
+    
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String[] getWords() {
+        return words;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,315 @@
+package com.smartcampus.userservice.search;
+
+import com.smartcampus.userservice.entity.User;
+import com.smartcampus.userservice.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index of word trigrams over a user's first name, last name, username and email.
+ * <p>
+ * Every indexed word is padded as {@code "  word "} so that the leading trigrams anchor word prefixes.
+ * In exact mode, query words of three or more characters match on their inner trigrams (substring
+ * semantics, like the old {@code LIKE %term%} query) and shorter words on their padded prefix trigrams;
+ * candidates must contain every trigram and are then verified against the stored words. Fuzzy mode
+ * keeps any candidate sharing at least half of the query's prefix-padded trigrams. Results are ranked
+ * by trigram overlap with bonuses for prefix and whole-word matches.
+ */
+@Component
+public class UserSearchIndex {
+    
+    private static final Logger log = LoggerFactory.getLogger(UserSearchIndex.class);
+    
+    private static final double FUZZY_THRESHOLD = 0.5;
+    private static final double PREFIX_BONUS = 0.25;
+    private static final double EXACT_WORD_BONUS = 0.25;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, String[]> documents = new HashMap<>();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final ConcurrentLinkedQueue<PendingChange> pendingChanges = new ConcurrentLinkedQueue<>();
+    
+    private volatile boolean building;
+    private volatile boolean ready;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.nanoTime();
+        building = true;
+        ready = false;
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        boolean complete = false;
+        try (Stream<User> users = userRepository.streamAll()) {
+            users.forEach(user -> {
+                SearchDocument document = SearchDocument.of(user);
+                entityManager.detach(user);
+                lock.writeLock().lock();
+                try {
+                    put(document);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            });
+            complete = true;
+        } finally {
+            // Changes committed while we were scanning are newer than what the scan saw
+            lock.writeLock().lock();
+            try {
+                building = false;
+                PendingChange change;
+                while ((change = pendingChanges.poll()) != null) {
+                    apply(change);
+                }
+                ready = complete;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("User search index built: {} users, {} trigrams in {} ms",
+                documents.size(), postings.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    public void index(SearchDocument document) {
+        submit(new PendingChange(document.getId(), document));
+    }
+    
+    public void remove(Long id) {
+        submit(new PendingChange(id, null));
+    }
+    
+    /**
+     * Returns the ids of the best matching users, most relevant first.
+     */
+    public List<Long> search(String query, int limit, boolean fuzzy) {
+        String[] queryWords = tokenize(query);
+        if (queryWords.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        
+        Set<String> required = new LinkedHashSet<>();
+        for (String word : queryWords) {
+            if (word.length() >= 3 && !fuzzy) {
+                addTrigrams(word, required);
+            } else {
+                addTrigrams("  " + word, required);
+            }
+        }
+        
+        lock.readLock().lock();
+        try {
+            Map<Long, int[]> hits = new HashMap<>();
+            for (String trigram : required) {
+                PostingList list = postings.get(trigram);
+                if (list != null) {
+                    list.forEach(id -> hits.computeIfAbsent(id, k -> new int[1])[0]++);
+                }
+            }
+            
+            List<ScoredId> scored = new ArrayList<>();
+            for (Map.Entry<Long, int[]> hit : hits.entrySet()) {
+                double similarity = (double) hit.getValue()[0] / required.size();
+                String[] words = documents.get(hit.getKey());
+                if (fuzzy ? similarity < FUZZY_THRESHOLD : !containsAll(words, queryWords)) {
+                    continue;
+                }
+                double score = similarity
+                        + PREFIX_BONUS * matchRatio(words, queryWords, true)
+                        + EXACT_WORD_BONUS * matchRatio(words, queryWords, false);
+                scored.add(new ScoredId(hit.getKey(), score));
+            }
+            
+            return scored.stream()
+                    .sorted(Comparator.comparingDouble(ScoredId::score).reversed()
+                            .thenComparing(ScoredId::id))
+                    .limit(limit)
+                    .map(ScoredId::id)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void submit(PendingChange change) {
+        lock.writeLock().lock();
+        try {
+            if (building) {
+                pendingChanges.add(change);
+            } else {
+                apply(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void apply(PendingChange change) {
+        if (change.document() == null) {
+            delete(change.id());
+        } else {
+            put(change.document());
+        }
+    }
+    
+    private void put(SearchDocument document) {
+        delete(document.getId());
+        String[] words = document.getWords();
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (String word : words) {
+            addTrigrams("  " + word + " ", trigrams);
+        }
+        for (String trigram : trigrams) {
+            postings.computeIfAbsent(trigram, k -> new PostingList()).add(document.getId());
+        }
+        documents.put(document.getId(), words);
+    }
+    
+    private void delete(Long id) {
+        String[] words = documents.remove(id);
+        if (words == null) {
+            return;
+        }
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (String word : words) {
+            addTrigrams("  " + word + " ", trigrams);
+        }
+        for (String trigram : trigrams) {
+            PostingList list = postings.get(trigram);
+            if (list != null && list.remove(id) && list.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+    }
+    
+    private static boolean containsAll(String[] words, String[] queryWords) {
+        for (String queryWord : queryWords) {
+            boolean found = false;
+            for (String word : words) {
+                if (queryWord.length() >= 3 ? word.contains(queryWord) : word.startsWith(queryWord)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static double matchRatio(String[] words, String[] queryWords, boolean prefix) {
+        int matched = 0;
+        for (String queryWord : queryWords) {
+            for (String word : words) {
+                if (prefix ? word.startsWith(queryWord) : word.equals(queryWord)) {
+                    matched++;
+                    break;
+                }
+            }
+        }
+        return (double) matched / queryWords.length;
+    }
+    
+    private static void addTrigrams(String padded, Set<String> target) {
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            target.add(padded.substring(i, i + 3));
+        }
+    }
+    
+    static String[] tokenize(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+    
+    private record PendingChange(Long id, SearchDocument document) {}
+    
+    private record ScoredId(Long id, double score) {}
+    
+    /**
+     * Append-only array of user ids; removal swaps the last id into the freed slot.
+     */
+    private static final class PostingList {
+        
+        private long[] ids = new long[4];
+        private int size;
+        
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+        
+        boolean remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        boolean isEmpty() {
+            return size == 0;
+        }
+        
+        void forEach(LongConsumer consumer) {
+            for (int i = 0; i < size; i++) {
+                consumer.accept(ids[i]);
+            }
+        }
+    }
+}
\ No newline at end of file
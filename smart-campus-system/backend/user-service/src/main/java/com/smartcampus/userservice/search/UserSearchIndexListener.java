@@ -0,0 +1,48 @@
+package com.smartcampus.userservice.search;
+
+import com.smartcampus.userservice.entity.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps {@link UserSearchIndex} current as users are created, updated and deleted through JPA.
+ * Changes are applied after the surrounding transaction commits so rolled-back writes never
+ * show up in search results.
+ */
+public class UserSearchIndexListener {
+    
+    // Resolved lazily: listeners are instantiated while the EntityManagerFactory is still being built
+    @Autowired
+    private ObjectProvider<UserSearchIndex> searchIndex;
+    
+    @PostPersist
+    @PostUpdate
+    public void onSave(User user) {
+        SearchDocument document = SearchDocument.of(user);
+        afterCommit(() -> searchIndex.getObject().index(document));
+    }
+    
+    @PostRemove
+    public void onRemove(User user) {
+        Long id = user.getId();
+        afterCommit(() -> searchIndex.getObject().remove(id));
+    }
+    
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
\ No newline at end of file
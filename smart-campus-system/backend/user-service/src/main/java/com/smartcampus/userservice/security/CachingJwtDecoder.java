@@ -0,0 +1,161 @@
+package com.smartcampus.userservice.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+
+/**
+ * Verifies each distinct token once and answers repeats from {@link VerifiedTokenCache}.
+ * <p>
+ * RS256 tokens are checked against the realm keys in {@link JwksKeySource}. HS256 tokens are the
+ * claims api-gateway already verified, re-signed with the shared internal secret (see
+ * {@link InternalClaimsBearerTokenResolver}); they are accepted only when that secret is set and
+ * are checked against it alone, never against the realm keys. Both kinds pass the usual issuer
+ * and timestamp validation before they are cached.
+ */
+@Component
+public class CachingJwtDecoder implements JwtDecoder {
+    
+    @Autowired
+    private JwksKeySource keySource;
+    
+    @Autowired
+    private VerifiedTokenCache cache;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri:}")
+    private String issuerUri;
+    
+    @Value("${user-service.internal-claims.secret:}")
+    private String internalSecret;
+    
+    private NimbusJwtDecoder realmDecoder;
+    private NimbusJwtDecoder internalDecoder;
+    private Counter cached;
+    private Counter verified;
+    private Counter rejected;
+    
+    @PostConstruct
+    void init() {
+        OAuth2TokenValidator<Jwt> validator = issuerUri.isBlank()
+                ? JwtValidators.createDefault()
+                : JwtValidators.createDefaultWithIssuer(issuerUri);
+        
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, keySource));
+        // Claims are checked by the Spring validators instead, as NimbusJwtDecoder does by default
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        realmDecoder = new NimbusJwtDecoder(processor);
+        realmDecoder.setJwtValidator(validator);
+        
+        if (!internalSecret.isBlank()) {
+            byte[] secret = internalSecret.getBytes(StandardCharsets.UTF_8);
+            if (secret.length < 32) {
+                throw new IllegalStateException("user-service.internal-claims.secret must be at least 32 bytes");
+            }
+            internalDecoder = NimbusJwtDecoder.withSecretKey(new SecretKeySpec(secret, "HmacSHA256"))
+                    .macAlgorithm(MacAlgorithm.HS256)
+                    .build();
+            internalDecoder.setJwtValidator(validator);
+        }
+        
+        cached = decodes("cached");
+        verified = decodes("verified");
+        rejected = decodes("rejected");
+        Gauge.builder("security.jwt.cache.size", cache, VerifiedTokenCache::size)
+                .description("Verified tokens held in the token cache")
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        Jwt jwt = cached(token);
+        return jwt != null ? jwt : verify(token);
+    }
+    
+    /**
+     * The cached result for the token, or null if it has to be verified.
+     */
+    public Jwt cached(String token) {
+        Jwt jwt = cache.get(token);
+        if (jwt != null) {
+            cached.increment();
+        }
+        return jwt;
+    }
+    
+    /**
+     * Verifies and caches the token. May block briefly to re-fetch the realm keys when the
+     * token was signed with a key id we don't hold yet.
+     */
+    public Jwt verify(String token) throws JwtException {
+        Jwt jwt;
+        try {
+            jwt = verifySignedBy(header(token), token);
+        } catch (JwtException e) {
+            rejected.increment();
+            throw e;
+        }
+        verified.increment();
+        cache.put(token, jwt);
+        return jwt;
+    }
+    
+    private Jwt verifySignedBy(JWSHeader header, String token) {
+        if (header != null && JWSAlgorithm.HS256.equals(header.getAlgorithm())) {
+            if (internalDecoder == null) {
+                throw new BadJwtException("Internal claims are not accepted: no internal-claims secret is configured");
+            }
+            return internalDecoder.decode(token);
+        }
+        if (header != null && header.getKeyID() != null && !keySource.hasKey(header.getKeyID())) {
+            keySource.refreshForUnknownKey();
+        }
+        return realmDecoder.decode(token);
+    }
+    
+    // Malformed tokens return null here and get their proper error from the decoder
+    private static JWSHeader header(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        try {
+            return JWSHeader.parse(new Base64URL(token.substring(0, dot)));
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+    
+    private Counter decodes(String result) {
+        return Counter.builder("security.jwt.decodes")
+                .description("Bearer tokens decoded, by whether verification was needed")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
\ No newline at end of file
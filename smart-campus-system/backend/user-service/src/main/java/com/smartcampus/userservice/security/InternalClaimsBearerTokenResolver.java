@@ -0,0 +1,40 @@
+package com.smartcampus.userservice.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
+import org.springframework.stereotype.Component;
+
+/**
+ * Takes the token from {@value #HEADER} when api-gateway sent one, and from the Authorization
+ * header otherwise. The gateway puts the claims it already verified into that header, re-signed
+ * with the shared internal secret, so {@link CachingJwtDecoder} only has to check an HMAC. Without
+ * a configured secret the header is ignored.
+ */
+@Component
+public class InternalClaimsBearerTokenResolver implements BearerTokenResolver {
+    
+    public static final String HEADER = "X-Internal-Claims";
+    
+    @Value("${user-service.internal-claims.secret:}")
+    private String secret;
+    
+    private final DefaultBearerTokenResolver bearerTokenResolver = new DefaultBearerTokenResolver();
+    
+    @Override
+    public String resolve(HttpServletRequest request) {
+        String internal = internalClaims(request.getHeader(HEADER));
+        return internal != null ? internal : bearerTokenResolver.resolve(request);
+    }
+    
+    /**
+     * The header value if internal claims are accepted and one was sent, otherwise null.
+     */
+    public String internalClaims(String headerValue) {
+        if (secret.isBlank() || headerValue == null || headerValue.isBlank()) {
+            return null;
+        }
+        return headerValue;
+    }
+}
\ No newline at end of file
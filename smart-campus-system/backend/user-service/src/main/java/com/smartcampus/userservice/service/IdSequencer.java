@@ -0,0 +1,109 @@
+package com.smartcampus.userservice.service;
+
+import com.smartcampus.userservice.repository.IdSequenceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Hands out unique, increasing numbers per prefix (e.g. {@code STU}, {@code EMP}).
+ * <p>
+ * Numbers are reserved from the {@code id_sequences} table in blocks: one short transaction
+ * locks the prefix row and advances it by the block size, after which ids are served from
+ * memory. Blocks never overlap across instances or restarts; numbers left in a block when
+ * an instance stops are skipped.
+ */
+@Component
+public class IdSequencer {
+    
+    private static final Logger log = LoggerFactory.getLogger(IdSequencer.class);
+    
+    @Autowired
+    private IdSequenceRepository idSequenceRepository;
+    
+    @Value("${user-service.id-sequencer.block-size:50}")
+    private int blockSize;
+    
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentHashMap<String, Block> blocks = new ConcurrentHashMap<>();
+    // Held across the reservation transaction; a monitor there would pin a virtual thread's carrier
+    private final ReentrantLock reserveLock = new ReentrantLock();
+    
+    public IdSequencer(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    /**
+     * Returns the next number for the prefix. {@code lastUsedValue} is only consulted the first
+     * time a prefix is seen by any instance, to continue after ids that already exist.
+     */
+    public long next(String prefix, LongSupplier lastUsedValue) {
+        while (true) {
+            Block block = blocks.get(prefix);
+            if (block != null) {
+                long value = block.next.getAndIncrement();
+                if (value < block.end) {
+                    return value;
+                }
+            }
+            reserveLock.lock();
+            try {
+                if (blocks.get(prefix) == block) {
+                    blocks.put(prefix, reserveBlock(prefix, lastUsedValue));
+                }
+            } finally {
+                reserveLock.unlock();
+            }
+        }
+    }
+    
+    private Block reserveBlock(String prefix, LongSupplier lastUsedValue) {
+        while (true) {
+            Long start = transactionTemplate.execute(status -> idSequenceRepository.findForUpdate(prefix)
+                    .map(sequence -> {
+                        long first = sequence.getNextValue();
+                        sequence.setNextValue(first + blockSize);
+                        return first;
+                    })
+                    .orElse(null));
+            if (start != null) {
+                log.debug("Reserved {} ids for prefix {} starting at {}", blockSize, prefix, start);
+                return new Block(start, start + blockSize);
+            }
+            createSequence(prefix, lastUsedValue.getAsLong() + 1);
+        }
+    }
+    
+    private void createSequence(String prefix, long firstValue) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    idSequenceRepository.insert(prefix, firstValue));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the row first; its value wins
+            log.debug("Sequence for prefix {} was created concurrently", prefix);
+        }
+    }
+    
+    private static final class Block {
+        
+        private final AtomicLong next;
+        private final long end;
+        
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,358 @@
+package com.smartcampus.userservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartcampus.userservice.cache.UserCache;
+import com.smartcampus.userservice.dto.BulkImportReport;
+import com.smartcampus.userservice.dto.BulkImportRowResult;
+import com.smartcampus.userservice.dto.UserDto;
+import com.smartcampus.userservice.entity.User;
+import com.smartcampus.userservice.entity.UserRole;
+import com.smartcampus.userservice.repository.UserRepository;
+import com.smartcampus.userservice.search.SearchDocument;
+import com.smartcampus.userservice.search.UserSearchIndex;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports users from CSV or NDJSON streams in chunks. Each chunk is validated with set-based
+ * {@code IN} queries, gets its student/employee ids from {@link UserIdGenerator} and is written
+ * with one JDBC batch. IDENTITY keys rule out Hibernate insert batching, so this bypasses JPA.
+ */
+@Service
+public class UserBulkImportService {
+    
+    private static final Logger log = LoggerFactory.getLogger(UserBulkImportService.class);
+    
+    private static final String INSERT_SQL = "INSERT INTO users (username, email, first_name, last_name, phone_number, "
+            + "role, student_id, employee_id, department, year_of_study, date_of_birth, address, is_active, "
+            + "created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    
+    private static final int[] INSERT_TYPES = {
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.INTEGER, Types.VARCHAR, Types.VARCHAR,
+            Types.BOOLEAN, Types.TIMESTAMP, Types.TIMESTAMP
+    };
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private UserIdGenerator userIdGenerator;
+    
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+    
+    @Autowired
+    private UserCache userCache;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${user-service.bulk-import.chunk-size:1000}")
+    private int chunkSize;
+    
+    private final TransactionTemplate transactionTemplate;
+    
+    public UserBulkImportService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    public BulkImportReport importCsv(InputStream input) throws IOException {
+        return importUsers(UserImportReader.csv(open(input), objectMapper));
+    }
+    
+    public BulkImportReport importNdjson(InputStream input) throws IOException {
+        return importUsers(UserImportReader.ndjson(open(input), objectMapper));
+    }
+    
+    private BufferedReader open(InputStream input) {
+        return new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+    
+    private BulkImportReport importUsers(UserImportReader reader) throws IOException {
+        long start = System.nanoTime();
+        BulkImportReport report = new BulkImportReport();
+        ImportKeys seen = new ImportKeys();
+        List<UserImportReader.ImportRow> chunk = new ArrayList<>(chunkSize);
+        try (reader) {
+            UserImportReader.ImportRow row;
+            while ((row = reader.next()) != null) {
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, seen, report);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, seen, report);
+            }
+        }
+        report.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        log.info("Bulk import finished: {} rows, {} created, {} failed in {} ms",
+                report.getTotal(), report.getSucceeded(), report.getFailed(), report.getElapsedMillis());
+        return report;
+    }
+    
+    private void importChunk(List<UserImportReader.ImportRow> rows, ImportKeys seen, BulkImportReport report) {
+        BulkImportRowResult[] results = new BulkImportRowResult[rows.size()];
+        List<Integer> candidates = new ArrayList<>();
+        
+        for (int i = 0; i < rows.size(); i++) {
+            UserImportReader.ImportRow row = rows.get(i);
+            UserDto user = row.getUser();
+            String error = row.getError() != null ? row.getError() : validate(user);
+            if (error != null) {
+                results[i] = BulkImportRowResult.failure(row.getRowNumber(), user != null ? user.getUsername() : null, error);
+            } else {
+                candidates.add(i);
+            }
+        }
+        
+        rejectExisting(rows, candidates, results);
+        
+        List<Integer> accepted = new ArrayList<>();
+        for (Integer i : candidates) {
+            if (results[i] != null) {
+                continue;
+            }
+            UserDto user = rows.get(i).getUser();
+            String error = claim(user, seen);
+            if (error != null) {
+                results[i] = BulkImportRowResult.failure(rows.get(i).getRowNumber(), user.getUsername(), error);
+            } else {
+                assignDefaults(user);
+                accepted.add(i);
+            }
+        }
+        
+        if (!accepted.isEmpty()) {
+            insert(rows, accepted, results);
+        }
+        for (BulkImportRowResult result : results) {
+            report.add(result);
+        }
+    }
+    
+    private String validate(UserDto user) {
+        Set<ConstraintViolation<UserDto>> violations = validator.validate(user);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        return null;
+    }
+    
+    /**
+     * Checks the row's unique keys against the rows accepted so far and, only if none clash,
+     * records them all, so a rejected row never blocks a later one with a key it did not get.
+     */
+    private String claim(UserDto user, ImportKeys seen) {
+        String username = normalize(user.getUsername());
+        String email = normalize(user.getEmail());
+        String studentId = user.getStudentId() != null ? normalize(user.getStudentId()) : null;
+        String employeeId = user.getEmployeeId() != null ? normalize(user.getEmployeeId()) : null;
+        if (seen.usernames.contains(username)) {
+            return "Username appears more than once in the import: " + user.getUsername();
+        }
+        if (seen.emails.contains(email)) {
+            return "Email appears more than once in the import: " + user.getEmail();
+        }
+        if (studentId != null && seen.studentIds.contains(studentId)) {
+            return "Student ID appears more than once in the import: " + user.getStudentId();
+        }
+        if (employeeId != null && seen.employeeIds.contains(employeeId)) {
+            return "Employee ID appears more than once in the import: " + user.getEmployeeId();
+        }
+        seen.usernames.add(username);
+        seen.emails.add(email);
+        if (studentId != null) {
+            seen.studentIds.add(studentId);
+        }
+        if (employeeId != null) {
+            seen.employeeIds.add(employeeId);
+        }
+        return null;
+    }
+    
+    // One IN query per unique column for the whole chunk instead of four exists queries per row
+    private void rejectExisting(List<UserImportReader.ImportRow> rows, List<Integer> candidates,
+                                BulkImportRowResult[] results) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+        List<UserDto> users = candidates.stream().map(i -> rows.get(i).getUser()).toList();
+        Set<String> usernames = existing(users, UserDto::getUsername, userRepository::findExistingUsernames);
+        Set<String> emails = existing(users, UserDto::getEmail, userRepository::findExistingEmails);
+        Set<String> studentIds = existing(users, UserDto::getStudentId, userRepository::findExistingStudentIds);
+        Set<String> employeeIds = existing(users, UserDto::getEmployeeId, userRepository::findExistingEmployeeIds);
+        
+        for (Integer i : candidates) {
+            UserDto user = rows.get(i).getUser();
+            String error = null;
+            if (usernames.contains(normalize(user.getUsername()))) {
+                error = "Username already exists: " + user.getUsername();
+            } else if (emails.contains(normalize(user.getEmail()))) {
+                error = "Email already exists: " + user.getEmail();
+            } else if (user.getStudentId() != null && studentIds.contains(normalize(user.getStudentId()))) {
+                error = "Student ID already exists: " + user.getStudentId();
+            } else if (user.getEmployeeId() != null && employeeIds.contains(normalize(user.getEmployeeId()))) {
+                error = "Employee ID already exists: " + user.getEmployeeId();
+            }
+            if (error != null) {
+                results[i] = BulkImportRowResult.failure(rows.get(i).getRowNumber(), user.getUsername(), error);
+            }
+        }
+    }
+    
+    private Set<String> existing(List<UserDto> users, Function<UserDto, String> key,
+                                 Function<Collection<String>, List<String>> query) {
+        Set<String> values = users.stream()
+                .map(key)
+                .filter(value -> value != null)
+                .collect(Collectors.toSet());
+        if (values.isEmpty()) {
+            return Set.of();
+        }
+        return query.apply(values).stream()
+                .map(this::normalize)
+                .collect(Collectors.toSet());
+    }
+    
+    private void assignDefaults(UserDto user) {
+        if (user.getRole() == UserRole.STUDENT && user.getStudentId() == null) {
+            user.setStudentId(userIdGenerator.generateStudentId());
+        } else if (user.getRole() == UserRole.TEACHER && user.getEmployeeId() == null) {
+            user.setEmployeeId(userIdGenerator.generateEmployeeId());
+        }
+        if (user.getIsActive() == null) {
+            user.setIsActive(true);
+        }
+        // Matches the literal in INSERT_SQL; imported rows never carry a client version
+        user.setVersion(0L);
+    }
+    
+    private void insert(List<UserImportReader.ImportRow> rows, List<Integer> accepted, BulkImportRowResult[] results) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<UserDto> users = accepted.stream().map(i -> rows.get(i).getUser()).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL,
+                    users.stream().map(user -> insertArguments(user, now)).toList(), INSERT_TYPES));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent writer took one of the keys; fall back to row-by-row to isolate the offender
+            log.debug("Batch insert failed, retrying chunk row by row: {}", e.getMostSpecificCause().getMessage());
+            insertOneByOne(rows, accepted, results, now);
+            return;
+        }
+        for (Integer i : accepted) {
+            results[i] = BulkImportRowResult.success(rows.get(i).getRowNumber(), rows.get(i).getUser());
+        }
+        resolveIds(rows, accepted, results);
+    }
+    
+    private void insertOneByOne(List<UserImportReader.ImportRow> rows, List<Integer> accepted,
+                                BulkImportRowResult[] results, Timestamp now) {
+        List<Integer> inserted = new ArrayList<>();
+        for (Integer i : accepted) {
+            UserDto user = rows.get(i).getUser();
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.update(INSERT_SQL, insertArguments(user, now), INSERT_TYPES));
+                results[i] = BulkImportRowResult.success(rows.get(i).getRowNumber(), user);
+                inserted.add(i);
+            } catch (DataIntegrityViolationException e) {
+                results[i] = BulkImportRowResult.failure(rows.get(i).getRowNumber(), user.getUsername(),
+                        e.getMostSpecificCause().getMessage());
+            }
+        }
+        resolveIds(rows, inserted, results);
+    }
+    
+    private void resolveIds(List<UserImportReader.ImportRow> rows, List<Integer> inserted, BulkImportRowResult[] results) {
+        if (inserted.isEmpty()) {
+            return;
+        }
+        List<String> usernames = inserted.stream().map(i -> rows.get(i).getUser().getUsername()).toList();
+        Map<String, Long> ids = new HashMap<>();
+        namedParameterJdbcTemplate.query("SELECT id, username FROM users WHERE username IN (:usernames)",
+                Map.of("usernames", usernames),
+                rs -> {
+                    ids.put(normalize(rs.getString("username")), rs.getLong("id"));
+                });
+        
+        for (Integer i : inserted) {
+            UserDto dto = rows.get(i).getUser();
+            Long id = ids.get(normalize(dto.getUsername()));
+            results[i].setId(id);
+            dto.setId(id);
+            
+            // Earlier 404s for these keys are now wrong
+            userCache.invalidate(dto);
+            
+            // JDBC inserts bypass the entity listener, so feed the search index directly
+            User user = new User(dto.getUsername(), dto.getEmail(), dto.getFirstName(), dto.getLastName(), dto.getRole());
+            user.setId(id);
+            userSearchIndex.index(SearchDocument.of(user));
+        }
+    }
+    
+    private Object[] insertArguments(UserDto user, Timestamp now) {
+        return new Object[] {
+                user.getUsername(), user.getEmail(), user.getFirstName(), user.getLastName(), user.getPhoneNumber(),
+                user.getRole().name(), user.getStudentId(), user.getEmployeeId(), user.getDepartment(),
+                user.getYearOfStudy(), user.getDateOfBirth(), user.getAddress(), user.getIsActive(), now, now
+        };
+    }
+    
+    // MySQL's default collation compares these columns case-insensitively
+    private String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+    
+    private static final class ImportKeys {
+        
+        private final Set<String> usernames = new HashSet<>();
+        private final Set<String> emails = new HashSet<>();
+        private final Set<String> studentIds = new HashSet<>();
+        private final Set<String> employeeIds = new HashSet<>();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.smartcampus.userservice.service;
+
+import com.smartcampus.userservice.dto.UserCollectionStamp;
+import com.smartcampus.userservice.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Entity tags for user resources. A single user is tagged with its id and version, so the
+ * tag doubles as the If-Match precondition for updates; lists are tagged with their row
+ * count, latest updated_at and sum of versions.
+ */
+public final class UserEtags {
+    
+    private UserEtags() {}
+    
+    public static String of(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+    
+    public static String of(UserDto user) {
+        return of(user.getId(), user.getVersion());
+    }
+    
+    // Every write path bumps a row's version, so the version sum moves even when a commit lands
+    // behind a later updated_at; count catches rows leaving the list
+    public static String of(UserCollectionStamp stamp) {
+        long lastModified = stamp.getLastModified() != null ? epochMicros(stamp.getLastModified()) : 0;
+        return "\"" + stamp.getCount() + "-" + Long.toHexString(lastModified) + "-" + Long.toHexString(stamp.getVersionSum()) + "\"";
+    }
+    
+    /**
+     * Extracts the version from an If-Match value produced by {@link #of(Long, Long)}.
+     * Returns null for {@code *}, which matches any current version.
+     */
+    public static Long parseVersion(Long id, String ifMatch) {
+        String value = ifMatch.trim();
+        if (value.equals("*")) {
+            return null;
+        }
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        value = value.replace("\"", "");
+        int separator = value.indexOf('-');
+        if (separator < 0 || !value.substring(0, separator).equals(String.valueOf(id))) {
+            throw new IllegalArgumentException("If-Match does not identify user " + id + ": " + ifMatch);
+        }
+        try {
+            return Long.parseLong(value.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed If-Match: " + ifMatch);
+        }
+    }
+    
+    private static long epochMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+}
\ No newline at end of file
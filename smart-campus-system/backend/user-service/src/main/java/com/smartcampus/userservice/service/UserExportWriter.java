@@ -0,0 +1,50 @@
+package com.smartcampus.userservice.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.smartcampus.userservice.entity.User;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes {@link User} entities straight to JSON in exactly the shape of
+ * {@link com.smartcampus.userservice.dto.UserDto}, so streaming exports don't allocate a DTO
+ * per row just to serialize it.
+ */
+@Component
+public class UserExportWriter {
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private ObjectWriter userWriter;
+    
+    @PostConstruct
+    void init() {
+        userWriter = objectMapper.copy()
+                .addMixIn(User.class, UserJsonShape.class)
+                .writerFor(User.class);
+    }
+    
+    public SequenceWriter ndjson(OutputStream out) throws IOException {
+        return userWriter.withRootValueSeparator("\n").writeValues(out);
+    }
+    
+    public SequenceWriter jsonArray(OutputStream out) throws IOException {
+        return userWriter.writeValuesAsArray(out);
+    }
+    
+    // Mirrors UserDto's property set and order; the audit timestamps are not part of the API
+    @JsonPropertyOrder({"id", "username", "email", "firstName", "lastName", "phoneNumber", "role", "studentId",
+            "employeeId", "department", "yearOfStudy", "dateOfBirth", "address", "isActive", "version"})
+    @JsonIgnoreProperties({"createdAt", "updatedAt"})
+    abstract static class UserJsonShape {
+    }
+}
\ No newline at end of file
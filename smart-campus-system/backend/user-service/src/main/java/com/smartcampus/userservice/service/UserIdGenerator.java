@@ -0,0 +1,45 @@
+package com.smartcampus.userservice.service;
+
+import com.smartcampus.userservice.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class UserIdGenerator {
+    
+    private static final String STUDENT_ID_PREFIX = "STU";
+    private static final String EMPLOYEE_ID_PREFIX = "EMP";
+    
+    @Autowired
+    private IdSequencer idSequencer;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    public String generateStudentId() {
+        long next = idSequencer.next(STUDENT_ID_PREFIX,
+                () -> highestNumber(STUDENT_ID_PREFIX, userRepository.findStudentIdsStartingWith(STUDENT_ID_PREFIX)));
+        return STUDENT_ID_PREFIX + String.format("%06d", next);
+    }
+    
+    public String generateEmployeeId() {
+        long next = idSequencer.next(EMPLOYEE_ID_PREFIX,
+                () -> highestNumber(EMPLOYEE_ID_PREFIX, userRepository.findEmployeeIdsStartingWith(EMPLOYEE_ID_PREFIX)));
+        return EMPLOYEE_ID_PREFIX + String.format("%06d", next);
+    }
+    
+    // Only used once per prefix, to seed the sequence past ids issued before it existed
+    private long highestNumber(String prefix, List<String> ids) {
+        long highest = 0;
+        for (String id : ids) {
+            try {
+                highest = Math.max(highest, Long.parseLong(id.substring(prefix.length())));
+            } catch (NumberFormatException e) {
+                // Hand-assigned ids that don't follow the PREFIX000000 pattern can't collide
+            }
+        }
+        return highest;
+    }
+}
\ No newline at end of file
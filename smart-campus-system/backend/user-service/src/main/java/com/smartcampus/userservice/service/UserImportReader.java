@@ -0,0 +1,193 @@
+package com.smartcampus.userservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartcampus.userservice.dto.UserDto;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pull-based reader for bulk user imports. Rows are parsed one at a time so arbitrarily large
+ * uploads are never held in memory; a row that cannot be parsed is returned with an error
+ * instead of aborting the import.
+ */
+abstract class UserImportReader implements Closeable {
+    
+    protected final BufferedReader reader;
+    protected final ObjectMapper objectMapper;
+    protected long rowNumber;
+    
+    private UserImportReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+    
+    /**
+     * CSV with a header row naming {@link UserDto} properties, e.g. {@code username,email,firstName,lastName,role}.
+     */
+    static UserImportReader csv(BufferedReader reader, ObjectMapper objectMapper) {
+        return new CsvReader(reader, objectMapper);
+    }
+    
+    /**
+     * One {@link UserDto} JSON object per line.
+     */
+    static UserImportReader ndjson(BufferedReader reader, ObjectMapper objectMapper) {
+        return new NdjsonReader(reader, objectMapper);
+    }
+    
+    /**
+     * Returns the next row, or {@code null} once the input is exhausted.
+     */
+    abstract ImportRow next() throws IOException;
+    
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+    
+    static final class ImportRow {
+        
+        private final long rowNumber;
+        private final UserDto user;
+        private final String error;
+        
+        private ImportRow(long rowNumber, UserDto user, String error) {
+            this.rowNumber = rowNumber;
+            this.user = user;
+            this.error = error;
+        }
+        
+        long getRowNumber() {
+            return rowNumber;
+        }
+        
+        UserDto getUser() {
+            return user;
+        }
+        
+        String getError() {
+            return error;
+        }
+    }
+    
+    private static final class NdjsonReader extends UserImportReader {
+        
+        private NdjsonReader(BufferedReader reader, ObjectMapper objectMapper) {
+            super(reader, objectMapper);
+        }
+        
+        @Override
+        ImportRow next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                rowNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    UserDto user = objectMapper.readValue(line, UserDto.class);
+                    // A literal null parses to no user at all
+                    return user != null ? new ImportRow(rowNumber, user, null)
+                            : new ImportRow(rowNumber, null, "Expected a JSON object but found null");
+                } catch (JsonProcessingException e) {
+                    return new ImportRow(rowNumber, null, "Invalid JSON: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+    }
+    
+    private static final class CsvReader extends UserImportReader {
+        
+        private List<String> header;
+        
+        private CsvReader(BufferedReader reader, ObjectMapper objectMapper) {
+            super(reader, objectMapper);
+        }
+        
+        @Override
+        ImportRow next() throws IOException {
+            if (header == null) {
+                header = readRecord();
+                if (header == null) {
+                    return null;
+                }
+            }
+            List<String> record;
+            while ((record = readRecord()) != null) {
+                rowNumber++;
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                if (record.size() != header.size()) {
+                    return new ImportRow(rowNumber, null,
+                            "Expected " + header.size() + " columns but found " + record.size());
+                }
+                Map<String, String> values = new HashMap<>();
+                for (int i = 0; i < header.size(); i++) {
+                    String value = record.get(i).trim();
+                    if (!value.isEmpty()) {
+                        values.put(header.get(i).trim(), value);
+                    }
+                }
+                try {
+                    return new ImportRow(rowNumber, objectMapper.convertValue(values, UserDto.class), null);
+                } catch (IllegalArgumentException e) {
+                    String message = e.getCause() instanceof JsonProcessingException cause
+                            ? cause.getOriginalMessage() : e.getMessage();
+                    return new ImportRow(rowNumber, null, "Invalid value: " + message);
+                }
+            }
+            return null;
+        }
+        
+        // RFC 4180: quoted fields may contain commas, line breaks and doubled quotes
+        private List<String> readRecord() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean read = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                read = true;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int following = reader.read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            if (following != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            if (!read) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
\ No newline at end of file
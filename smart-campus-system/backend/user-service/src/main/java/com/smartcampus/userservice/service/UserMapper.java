@@ -0,0 +1,55 @@
+package com.smartcampus.userservice.service;
+
+import com.smartcampus.userservice.dto.UserDto;
+import com.smartcampus.userservice.entity.User;
+import com.smartcampus.userservice.entity.UserRecord;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * User/UserDto conversions (and UserRecord to UserDto for the reactive reads), generated at
+ * compile time by MapStruct as plain getter/setter calls. Unmapped target properties fail the
+ * build, so a new column has to be mapped or explicitly ignored here.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface UserMapper {
+    
+    UserDto toDto(User user);
+    
+    UserDto toDto(UserRecord record);
+    
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "isActive", defaultValue = "true")
+    User toEntity(UserDto dto);
+    
+    // PUT semantics: null fields in the DTO leave the user untouched
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "username", ignore = true)
+    @Mapping(target = "role", ignore = true)
+    @Mapping(target = "studentId", ignore = true)
+    @Mapping(target = "employeeId", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    void updateFields(UserDto dto, @MappingTarget User user);
+    
+    // Merge-patch semantics: the DTO is the already-patched state, so nulls clear fields
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "username", ignore = true)
+    @Mapping(target = "role", ignore = true)
+    @Mapping(target = "studentId", ignore = true)
+    @Mapping(target = "employeeId", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    void applyPatch(UserDto patched, @MappingTarget User user);
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.smartcampus.userservice.service;
+
+import com.smartcampus.userservice.dto.UserSortKey;
+import com.smartcampus.userservice.entity.User;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination: encodes the sort key together with the
+ * {@code (sort value, id)} of the last row of the previous page.
+ */
+final class UserSeekToken {
+    
+    private static final String NULL_MARKER = "~";
+    private static final String VALUE_MARKER = "=";
+    
+    private final UserSortKey sortKey;
+    private final Object lastKey;
+    private final Long lastId;
+    
+    private UserSeekToken(UserSortKey sortKey, Object lastKey, Long lastId) {
+        this.sortKey = sortKey;
+        this.lastKey = lastKey;
+        this.lastId = lastId;
+    }
+    
+    static String encode(UserSortKey sortKey, User lastRow) {
+        Object key = sortValue(sortKey, lastRow);
+        String raw = sortKey.name() + "|" + lastRow.getId() + "|"
+                + (key == null ? NULL_MARKER : VALUE_MARKER + key);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    static UserSeekToken decode(String token, UserSortKey expectedSortKey) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Malformed continuation token");
+            }
+            UserSortKey sortKey = UserSortKey.valueOf(parts[0]);
+            if (sortKey != expectedSortKey) {
+                throw new IllegalArgumentException("Continuation token was issued for sort " + sortKey);
+            }
+            Long lastId = Long.valueOf(parts[1]);
+            Object lastKey = null;
+            if (parts[2].startsWith(VALUE_MARKER)) {
+                String value = parts[2].substring(VALUE_MARKER.length());
+                lastKey = sortKey == UserSortKey.CREATED_AT ? LocalDateTime.parse(value) : value;
+            } else if (!NULL_MARKER.equals(parts[2])) {
+                throw new IllegalArgumentException("Malformed continuation token");
+            }
+            return new UserSeekToken(sortKey, lastKey, lastId);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed continuation token", e);
+        }
+    }
+    
+    private static Object sortValue(UserSortKey sortKey, User user) {
+        switch (sortKey) {
+            case USERNAME:
+                return user.getUsername();
+            case CREATED_AT:
+                return user.getCreatedAt();
+            case DEPARTMENT:
+                return user.getDepartment();
+            default:
+                throw new IllegalArgumentException("Unsupported sort key: " + sortKey);
+        }
+    }
+    
+    UserSortKey getSortKey() {
+        return sortKey;
+    }
+    
+    Object getLastKey() {
+        return lastKey;
+    }
+    
+    Long getLastId() {
+        return lastId;
+    }
+}
\ No newline at end of file
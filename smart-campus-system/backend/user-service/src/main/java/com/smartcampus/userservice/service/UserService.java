@@ -1,107 +1,384 @@
 package com.smartcampus.userservice.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.smartcampus.userservice.cache.UserCache;
+import com.smartcampus.userservice.dto.UserBatchRequest;
+import com.smartcampus.userservice.dto.UserBatchResponse;
 import com.smartcampus.userservice.dto.UserDto;
+import com.smartcampus.userservice.dto.UserFields;
+import com.smartcampus.userservice.dto.UserSeekPage;
+import com.smartcampus.userservice.dto.UserSortKey;
 import com.smartcampus.userservice.entity.User;
 import com.smartcampus.userservice.entity.UserRole;
 import com.smartcampus.userservice.repository.UserRepository;
+import com.smartcampus.userservice.search.UserSearchIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class UserService {
     
+    private static final int BATCH_QUERY_CHUNK_SIZE = 500;
+    
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("email", "firstName", "lastName", "phoneNumber",
+            "department", "yearOfStudy", "dateOfBirth", "address", "isActive", "version");
+    
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+    
+    @Autowired
+    private UserIdGenerator userIdGenerator;
+    
+    @Autowired
+    private UserCache userCache;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private UserMapper userMapper;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${user-service.batch.max-keys:5000}")
+    private int maxBatchKeys;
+    
+    @Transactional(readOnly = true)
     public List<UserDto> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return userRepository.findAllDtos();
     }
     
+    /**
+     * Streams every user into {@code writer} one row at a time. Entities are serialized
+     * directly (see {@link UserExportWriter}) and detached once written, so neither DTOs nor
+     * the persistence context grow with the table.
+     */
+    @Transactional(readOnly = true)
+    public void exportUsers(SequenceWriter writer) throws IOException {
+        try (Stream<User> users = userRepository.streamAll()) {
+            Iterator<User> rows = users.iterator();
+            while (rows.hasNext()) {
+                User user = rows.next();
+                writer.write(user);
+                entityManager.detach(user);
+            }
+        }
+    }
+    
+    @Transactional(readOnly = true)
     public Page<UserDto> getAllUsers(Pageable pageable) {
-        return userRepository.findAll(pageable)
-                .map(this::convertToDto);
+        return userRepository.findAllDtos(pageable);
+    }
+    
+    @Transactional(readOnly = true)
+    public UserSeekPage getUsersAfter(UserSortKey sortKey, String continuationToken, int size, boolean includeTotal) {
+        Object lastKey = null;
+        Long lastId = null;
+        if (continuationToken != null && !continuationToken.isBlank()) {
+            UserSeekToken token = UserSeekToken.decode(continuationToken, sortKey);
+            lastKey = token.getLastKey();
+            lastId = token.getLastId();
+        }
+        
+        // Fetch one extra row to learn whether another page exists without counting
+        List<User> rows = userRepository.findPageAfter(sortKey, lastKey, lastId, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<User> page = hasNext ? rows.subList(0, size) : rows;
+        String nextToken = hasNext ? UserSeekToken.encode(sortKey, page.get(page.size() - 1)) : null;
+        Long total = includeTotal ? userRepository.count() : null;
+        
+        List<UserDto> content = page.stream()
+                .map(userMapper::toDto)
+                .collect(Collectors.toList());
+        return new UserSeekPage(content, sortKey, size, nextToken, total);
     }
     
+    @Transactional(readOnly = true)
     public Optional<UserDto> getUserById(Long id) {
-        return userRepository.findById(id)
-                .map(this::convertToDto);
+        return userCache.get(UserCache.KeyType.ID, id, () -> userRepository.findById(id)
+                .map(userMapper::toDto));
     }
     
+    @Transactional(readOnly = true)
     public Optional<UserDto> getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .map(this::convertToDto);
+        return userCache.get(UserCache.KeyType.USERNAME, username, () -> userRepository.findByUsername(username)
+                .map(userMapper::toDto));
     }
     
+    @Transactional(readOnly = true)
     public Optional<UserDto> getUserByEmail(String email) {
-        return userRepository.findByEmail(email)
-                .map(this::convertToDto);
+        return userCache.get(UserCache.KeyType.EMAIL, email, () -> userRepository.findByEmail(email)
+                .map(userMapper::toDto));
     }
     
+    @Transactional(readOnly = true)
     public Optional<UserDto> getUserByStudentId(String studentId) {
-        return userRepository.findByStudentId(studentId)
-                .map(this::convertToDto);
+        return userCache.get(UserCache.KeyType.STUDENT_ID, studentId, () -> userRepository.findByStudentId(studentId)
+                .map(userMapper::toDto));
+    }
+    
+    /**
+     * Resolves many users in one call: cached users are served from {@link UserCache}, the rest
+     * are loaded with chunked {@code IN} queries. Results keep the request order.
+     */
+    @Transactional(readOnly = true)
+    public UserBatchResponse getUsersInBatch(UserBatchRequest request) {
+        if (request.keyCount() > maxBatchKeys) {
+            throw new IllegalArgumentException("At most " + maxBatchKeys + " keys can be resolved per request");
+        }
+        List<String> fields = request.getFields();
+        UserFields.validate(fields);
+        
+        Map<Object, UserDto> byId = resolveBatch(request.getIds(), UserCache.KeyType.ID,
+                userRepository::findAllById, UserDto::getId);
+        Map<Object, UserDto> byUsername = resolveBatch(request.getUsernames(), UserCache.KeyType.USERNAME,
+                userRepository::findByUsernameIn, UserDto::getUsername);
+        Map<Object, UserDto> byStudentId = resolveBatch(request.getStudentIds(), UserCache.KeyType.STUDENT_ID,
+                userRepository::findByStudentIdIn, UserDto::getStudentId);
+        
+        UserBatchResponse response = new UserBatchResponse();
+        for (Long id : request.getIds()) {
+            addBatchResult(response, byId.get(batchKey(id)), fields, () -> response.getMissingIds().add(id));
+        }
+        for (String username : request.getUsernames()) {
+            addBatchResult(response, byUsername.get(batchKey(username)), fields,
+                    () -> response.getMissingUsernames().add(username));
+        }
+        for (String studentId : request.getStudentIds()) {
+            addBatchResult(response, byStudentId.get(batchKey(studentId)), fields,
+                    () -> response.getMissingStudentIds().add(studentId));
+        }
+        return response;
+    }
+    
+    private <K> Map<Object, UserDto> resolveBatch(List<K> keys, UserCache.KeyType type,
+                                                  Function<List<K>, List<User>> loader, Function<UserDto, K> keyOf) {
+        Map<Object, UserDto> found = new HashMap<>();
+        List<K> misses = new ArrayList<>();
+        for (K key : new LinkedHashSet<>(keys)) {
+            if (key == null) {
+                continue;
+            }
+            Optional<UserDto> cached = userCache.getIfPresent(type, key);
+            if (cached.isPresent()) {
+                found.put(batchKey(key), cached.get());
+            } else {
+                misses.add(key);
+            }
+        }
+        for (int from = 0; from < misses.size(); from += BATCH_QUERY_CHUNK_SIZE) {
+            List<K> chunk = misses.subList(from, Math.min(from + BATCH_QUERY_CHUNK_SIZE, misses.size()));
+            for (User user : loader.apply(chunk)) {
+                UserDto dto = userMapper.toDto(user);
+                found.put(batchKey(keyOf.apply(dto)), dto);
+            }
+            entityManager.clear();
+        }
+        return found;
+    }
+    
+    private void addBatchResult(UserBatchResponse response, UserDto user, List<String> fields, Runnable onMissing) {
+        if (user == null) {
+            onMissing.run();
+        } else {
+            response.getUsers().add(fields.isEmpty() ? user : UserFields.select(user, fields));
+        }
     }
     
+    // String keys match case-insensitively, like the MySQL columns they come from
+    private Object batchKey(Object key) {
+        return key instanceof String text ? text.toLowerCase(Locale.ROOT) : key;
+    }
+    
+    @Transactional(readOnly = true)
     public List<UserDto> getUsersByRole(UserRole role) {
-        return userRepository.findByRole(role).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return userRepository.findDtosByRole(role);
     }
     
+    @Transactional(readOnly = true)
     public List<UserDto> getUsersByDepartment(String department) {
-        return userRepository.findByDepartment(department).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return userRepository.findDtosByDepartment(department);
     }
     
+    @Transactional(readOnly = true)
     public List<UserDto> getActiveUsersByRole(UserRole role) {
-        return userRepository.findActiveUsersByRole(role).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return userRepository.findActiveDtosByRole(role);
+    }
+    
+    @Transactional(readOnly = true)
+    public String getAllUsersEtag() {
+        return UserEtags.of(userRepository.findStamp());
+    }
+    
+    @Transactional(readOnly = true)
+    public String getUsersByRoleEtag(UserRole role) {
+        return UserEtags.of(userRepository.findStampByRole(role));
+    }
+    
+    @Transactional(readOnly = true)
+    public String getUsersByDepartmentEtag(String department) {
+        return UserEtags.of(userRepository.findStampByDepartment(department));
+    }
+    
+    @Transactional(readOnly = true)
+    public String getActiveUsersByRoleEtag(UserRole role) {
+        return UserEtags.of(userRepository.findActiveStampByRole(role));
     }
     
-    public List<UserDto> searchUsers(String searchTerm) {
-        return userRepository.searchUsers(searchTerm).stream()
-                .map(this::convertToDto)
+    @Transactional(readOnly = true)
+    public List<UserDto> searchUsers(String searchTerm, int limit, boolean fuzzy) {
+        if (!userSearchIndex.isReady()) {
+            // Index is still being built at startup; fall back to the table scan
+            return userRepository.searchUsers(searchTerm, PageRequest.of(0, limit)).stream()
+                    .map(userMapper::toDto)
+                    .collect(Collectors.toList());
+        }
+        
+        List<Long> ids = userSearchIndex.search(searchTerm, limit, fuzzy);
+        Map<Long, User> usersById = userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return ids.stream()
+                .map(usersById::get)
+                .filter(user -> user != null)
+                .map(userMapper::toDto)
                 .collect(Collectors.toList());
     }
     
     public UserDto createUser(UserDto userDto) {
         validateUserCreation(userDto);
-        User user = convertToEntity(userDto);
+        User user = userMapper.toEntity(userDto);
         
         // Generate student/employee ID if needed
         if (user.getRole() == UserRole.STUDENT && user.getStudentId() == null) {
-            user.setStudentId(generateStudentId());
+            user.setStudentId(userIdGenerator.generateStudentId());
         } else if (user.getRole() == UserRole.TEACHER && user.getEmployeeId() == null) {
-            user.setEmployeeId(generateEmployeeId());
+            user.setEmployeeId(userIdGenerator.generateEmployeeId());
         }
         
         user.setCreatedAt(LocalDateTime.now());
         User savedUser = userRepository.save(user);
-        return convertToDto(savedUser);
+        UserDto created = userMapper.toDto(savedUser);
+        userCache.invalidate(created);
+        return created;
     }
     
-    public UserDto updateUser(Long id, UserDto userDto) {
-        return userRepository.findById(id)
-                .map(existingUser -> {
-                    updateUserFields(existingUser, userDto);
-                    existingUser.setUpdatedAt(LocalDateTime.now());
-                    User updatedUser = userRepository.save(existingUser);
-                    return convertToDto(updatedUser);
-                })
+    /**
+     * Copies the non-null fields of {@code userDto} onto the user. When {@code expectedVersion}
+     * is given it must match the stored version, otherwise {@link UserVersionConflictException}
+     * is thrown.
+     */
+    public UserDto updateUser(Long id, UserDto userDto, Long expectedVersion) {
+        User existingUser = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+        checkVersion(existingUser, expectedVersion);
+        UserDto before = userMapper.toDto(existingUser);
+        userMapper.updateFields(userDto, existingUser);
+        return saveChanges(existingUser, before);
+    }
+    
+    /**
+     * Applies a JSON merge patch (RFC 7386) to the user: members set the field, {@code null}
+     * clears it, absent members are left alone. A {@code version} member is treated like
+     * If-Match when {@code expectedVersion} is not given.
+     */
+    public UserDto patchUser(Long id, JsonNode patch, Long expectedVersion) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("Merge patch must be a JSON object");
+        }
+        Iterator<String> names = patch.fieldNames();
+        while (names.hasNext()) {
+            String name = names.next();
+            if (!PATCHABLE_FIELDS.contains(name)) {
+                throw new IllegalArgumentException("Field cannot be patched: " + name);
+            }
+        }
+        if (expectedVersion == null && patch.hasNonNull("version")) {
+            expectedVersion = patch.get("version").asLong();
+        }
+        
+        User existingUser = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+        checkVersion(existingUser, expectedVersion);
+        UserDto before = userMapper.toDto(existingUser);
+        UserDto patched;
+        try {
+            patched = objectMapper.readerForUpdating(userMapper.toDto(existingUser)).readValue(patch);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid merge patch: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid merge patch", e);
+        }
+        requireValue(patched.getEmail(), "email");
+        requireValue(patched.getFirstName(), "firstName");
+        requireValue(patched.getLastName(), "lastName");
+        requireValue(patched.getIsActive(), "isActive");
+        
+        userMapper.applyPatch(patched, existingUser);
+        return saveChanges(existingUser, before);
+    }
+    
+    private void checkVersion(User user, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(user.getVersion())) {
+            throw new UserVersionConflictException(user.getId(), expectedVersion, user.getVersion());
+        }
+    }
+    
+    private void requireValue(Object value, String field) {
+        if (value == null || value.toString().isBlank()) {
+            throw new IllegalArgumentException("Field cannot be removed: " + field);
+        }
+    }
+    
+    // @DynamicUpdate writes only the columns that changed; a no-op update writes nothing at all
+    private UserDto saveChanges(User user, UserDto before) {
+        // The mapper sets every field it copies; Hibernate's dirty check tells whether any value moved
+        if (!entityManager.unwrap(Session.class).isDirty()) {
+            return before;
+        }
+        userCache.invalidate(before);
+        user.setUpdatedAt(LocalDateTime.now());
+        User updatedUser;
+        try {
+            // Flush now so a concurrent edit surfaces here as a conflict, not at commit
+            updatedUser = userRepository.saveAndFlush(user);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new UserVersionConflictException(user.getId(), e);
+        }
+        UserDto updated = userMapper.toDto(updatedUser);
+        userCache.invalidate(updated);
+        return updated;
     }
     
     public void deleteUser(Long id) {
@@ -109,6 +386,9 @@ public class UserService {
             throw new RuntimeException("User not found with id: " + id);
         }
         userRepository.deleteById(id);
+        UserDto deleted = new UserDto();
+        deleted.setId(id);
+        userCache.invalidate(deleted);
     }
     
     public UserDto deactivateUser(Long id) {
@@ -117,7 +397,9 @@ public class UserService {
                     user.setIsActive(false);
                     user.setUpdatedAt(LocalDateTime.now());
                     User updatedUser = userRepository.save(user);
-                    return convertToDto(updatedUser);
+                    UserDto updated = userMapper.toDto(updatedUser);
+                    userCache.invalidate(updated);
+                    return updated;
                 })
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
     }
@@ -128,7 +410,9 @@ public class UserService {
                     user.setIsActive(true);
                     user.setUpdatedAt(LocalDateTime.now());
                     User updatedUser = userRepository.save(user);
-                    return convertToDto(updatedUser);
+                    UserDto updated = userMapper.toDto(updatedUser);
+                    userCache.invalidate(updated);
+                    return updated;
                 })
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
     }
@@ -147,65 +431,5 @@ public class UserService {
             throw new RuntimeException("Employee ID already exists: " + userDto.getEmployeeId());
         }
     }
-    
-    private String generateStudentId() {
-        // Simple student ID generation logic
-        long count = userRepository.findByRole(UserRole.STUDENT).size();
-        return "STU" + String.format("%06d", count + 1);
-    }
-    
-    private String generateEmployeeId() {
-        // Simple employee ID generation logic
-        long count = userRepository.findByRole(UserRole.TEACHER).size() + userRepository.findByRole(UserRole.ADMIN).size();
-        return "EMP" + String.format("%06d", count + 1);
-    }
-    
-    private void updateUserFields(User existingUser, UserDto userDto) {
-        if (userDto.getEmail() != null) existingUser.setEmail(userDto.getEmail());
-        if (userDto.getFirstName() != null) existingUser.setFirstName(userDto.getFirstName());
-        if (userDto.getLastName() != null) existingUser.setLastName(userDto.getLastName());
-        if (userDto.getPhoneNumber() != null) existingUser.setPhoneNumber(userDto.getPhoneNumber());
-        if (userDto.getDepartment() != null) existingUser.setDepartment(userDto.getDepartment());
-        if (userDto.getYearOfStudy() != null) existingUser.setYearOfStudy(userDto.getYearOfStudy());
-        if (userDto.getDateOfBirth() != null) existingUser.setDateOfBirth(userDto.getDateOfBirth());
-        if (userDto.getAddress() != null) existingUser.setAddress(userDto.getAddress());
-        if (userDto.getIsActive() != null) existingUser.setIsActive(userDto.getIsActive());
-    }
-    
-    private UserDto convertToDto(User user) {
-        UserDto dto = new UserDto();
-        dto.setId(user.getId());
-        dto.setUsername(user.getUsername());
-        dto.setEmail(user.getEmail());
-        dto.setFirstName(user.getFirstName());
-        dto.setLastName(user.getLastName());
-        dto.setPhoneNumber(user.getPhoneNumber());
-        dto.setRole(user.getRole());
-        dto.setStudentId(user.getStudentId());
-        dto.setEmployeeId(user.getEmployeeId());
-        dto.setDepartment(user.getDepartment());
-        dto.setYearOfStudy(user.getYearOfStudy());
-        dto.setDateOfBirth(user.getDateOfBirth());
-        dto.setAddress(user.getAddress());
-        dto.setIsActive(user.getIsActive());
-        return dto;
-    }
-    
-    private User convertToEntity(UserDto dto) {
-        User user = new User();
-        user.setUsername(dto.getUsername());
-        user.setEmail(dto.getEmail());
-        user.setFirstName(dto.getFirstName());
-        user.setLastName(dto.getLastName());
-        user.setPhoneNumber(dto.getPhoneNumber());
-        user.setRole(dto.getRole());
-        user.setStudentId(dto.getStudentId());
-        user.setEmployeeId(dto.getEmployeeId());
-        user.setDepartment(dto.getDepartment());
-        user.setYearOfStudy(dto.getYearOfStudy());
-        user.setDateOfBirth(dto.getDateOfBirth());
-        user.setAddress(dto.getAddress());
-        user.setIsActive(dto.getIsActive() != null ? dto.getIsActive() : true);
-        return user;
-    }
+
 }
\ No newline at end of file
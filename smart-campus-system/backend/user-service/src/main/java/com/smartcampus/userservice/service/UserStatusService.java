@@ -0,0 +1,156 @@
+package com.smartcampus.userservice.service;
+
+import com.smartcampus.userservice.cache.UserCache;
+import com.smartcampus.userservice.dto.UserStatusFilter;
+import com.smartcampus.userservice.dto.UserStatusJob;
+import com.smartcampus.userservice.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Activates or deactivates every user matching a filter with chunked set-based UPDATEs.
+ * <p>
+ * Each chunk selects the next block of ids by keyset and updates them in its own short
+ * transaction, so a whole graduating cohort never holds row locks for the length of the job.
+ * Jobs can run inline or in the background; either way their progress is kept here so it
+ * can be polled while they run.
+ */
+@Service
+public class UserStatusService {
+    
+    private static final Logger log = LoggerFactory.getLogger(UserStatusService.class);
+    
+    private static final int MAX_RETAINED_JOBS = 100;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private UserCache userCache;
+    
+    @Autowired
+    private TaskExecutor taskExecutor;
+    
+    @Value("${user-service.bulk-status.chunk-size:1000}")
+    private int chunkSize;
+    
+    private final TransactionTemplate transactionTemplate;
+    
+    private final LinkedHashMap<String, UserStatusJob> jobs = new LinkedHashMap<>();
+    
+    public UserStatusService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    /**
+     * Runs the job on the calling thread and returns it once finished.
+     */
+    public UserStatusJob changeStatus(UserStatusFilter filter, boolean active) {
+        UserStatusJob job = register(filter, active);
+        run(job, filter);
+        return job;
+    }
+    
+    /**
+     * Starts the job in the background and returns it immediately; poll {@link #getJob(String)}
+     * for progress.
+     */
+    public UserStatusJob changeStatusAsync(UserStatusFilter filter, boolean active) {
+        UserStatusJob job = register(filter, active);
+        taskExecutor.execute(() -> run(job, filter));
+        return job;
+    }
+    
+    public synchronized Optional<UserStatusJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+    
+    private synchronized UserStatusJob register(UserStatusFilter filter, boolean active) {
+        if (filter == null || filter.isEmpty()) {
+            throw new IllegalArgumentException("At least one of role, department, yearOfStudy or ids is required");
+        }
+        UserStatusJob job = new UserStatusJob(UUID.randomUUID().toString(), active);
+        jobs.put(job.getId(), job);
+        
+        // Forget the oldest finished jobs; running ones are kept so they stay observable
+        Iterator<UserStatusJob> eldest = jobs.values().iterator();
+        while (jobs.size() > MAX_RETAINED_JOBS && eldest.hasNext()) {
+            if (eldest.next().isFinished()) {
+                eldest.remove();
+            }
+        }
+        return job;
+    }
+    
+    private void run(UserStatusJob job, UserStatusFilter filter) {
+        try {
+            if (filter.getIds().isEmpty()) {
+                job.setMatched(userRepository.countForStatusChange(filter, null, job.isActive()));
+                Long afterId = null;
+                List<Long> ids;
+                while (!(ids = nextChunk(filter, null, job.isActive(), afterId)).isEmpty()) {
+                    applyChunk(job, ids);
+                    afterId = ids.get(ids.size() - 1);
+                }
+            } else {
+                List<List<Long>> idChunks = partition(new ArrayList<>(new TreeSet<>(filter.getIds())));
+                long matched = 0;
+                for (List<Long> chunk : idChunks) {
+                    matched += userRepository.countForStatusChange(filter, chunk, job.isActive());
+                }
+                job.setMatched(matched);
+                for (List<Long> chunk : idChunks) {
+                    List<Long> ids = nextChunk(filter, chunk, job.isActive(), null);
+                    if (!ids.isEmpty()) {
+                        applyChunk(job, ids);
+                    }
+                }
+            }
+            job.setStatus(UserStatusJob.Status.COMPLETED);
+        } catch (RuntimeException e) {
+            log.warn("Bulk status job {} failed after {} rows", job.getId(), job.getProcessed(), e);
+            job.setError(e.getMessage());
+            job.setStatus(UserStatusJob.Status.FAILED);
+        } finally {
+            job.setFinishedAt(LocalDateTime.now());
+        }
+    }
+    
+    private List<Long> nextChunk(UserStatusFilter filter, List<Long> ids, boolean active, Long afterId) {
+        return transactionTemplate.execute(status ->
+                userRepository.findIdsForStatusChange(filter, ids, active, afterId, chunkSize));
+    }
+    
+    private void applyChunk(UserStatusJob job, List<Long> ids) {
+        int updated = transactionTemplate.execute(status -> {
+            int rows = userRepository.updateActiveByIds(ids, job.isActive(), LocalDateTime.now());
+            userCache.invalidateIds(ids);
+            return rows;
+        });
+        job.setProcessed(job.getProcessed() + ids.size());
+        job.setAffected(job.getAffected() + updated);
+    }
+    
+    private List<List<Long>> partition(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            chunks.add(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+        }
+        return chunks;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.smartcampus.userservice.service;
+
+/**
+ * Thrown when an update names a version of the user other than the one currently stored.
+ */
+public class UserVersionConflictException extends RuntimeException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final Long userId;
+    
+    public UserVersionConflictException(Long userId, Long expectedVersion, Long currentVersion) {
+        super("User " + userId + " is at version " + currentVersion + ", not " + expectedVersion);
+        this.userId = userId;
+    }
+    
+    public UserVersionConflictException(Long userId, Throwable cause) {
+        super("User " + userId + " was modified concurrently", cause);
+        this.userId = userId;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+}
\ No newline at end of file
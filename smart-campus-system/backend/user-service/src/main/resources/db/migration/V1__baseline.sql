@@ -0,0 +1,29 @@
+-- Schema as previously created by ddl-auto: update. Databases that already have these tables are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and only run what follows.
+-- Constraint names are the ones Hibernate generated, so existing and new databases match.
+
+CREATE TABLE users (
+    is_active BIT,
+    year_of_study INTEGER,
+    created_at DATETIME(6),
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    updated_at DATETIME(6),
+    address VARCHAR(255),
+    date_of_birth VARCHAR(255),
+    department VARCHAR(255),
+    email VARCHAR(255) NOT NULL,
+    employee_id VARCHAR(255),
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    phone_number VARCHAR(255),
+    student_id VARCHAR(255),
+    username VARCHAR(255) NOT NULL,
+    role ENUM ('STUDENT','TEACHER','ADMIN') NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+ALTER TABLE users ADD CONSTRAINT UK_d1s31g1a7ilra77m65xmka3ei UNIQUE (employee_id);
+
+ALTER TABLE users ADD CONSTRAINT UK_qh3otyipv2k9hqte4a1abcyhq UNIQUE (student_id);
+
+ALTER TABLE users ADD CONSTRAINT UK_r43af9ap4edm43mmtq01oddj6 UNIQUE (username);
\ No newline at end of file
@@ -0,0 +1,21 @@
+-- One index per UserRepository access path that used to scan the table. Column order puts the
+-- equality filters first, so the role and department lists, their active-only variants and the
+-- ETag stamps behind them all read a contiguous index range.
+
+-- findByEmail, existsByEmail and findExistingEmails (duplicate checks on create and bulk import)
+CREATE INDEX idx_users_email ON users (email);
+
+-- findByRole, findActiveUsersByRole, findDtosByRole, findActiveDtosByRole and their stamps;
+-- updated_at lets MAX(updated_at) for the stamps come from the index alone
+CREATE INDEX idx_users_role_active_updated_at ON users (role, is_active, updated_at);
+
+-- findActiveUsersByDepartment and findByRoleAndDepartment; department-only lists and seek pages
+-- use idx_users_department_id from V3
+CREATE INDEX idx_users_department_active_role ON users (department, is_active, role);
+
+-- Keyset pages sorted by username: the seek predicate compares (username, id) pairs, like the
+-- created_at and department indexes in V3
+CREATE INDEX idx_users_username_id ON users (username, id);
+
+-- Bulk activate/deactivate filtered by year of study
+CREATE INDEX idx_users_year_of_study_active ON users (year_of_study, is_active);
\ No newline at end of file
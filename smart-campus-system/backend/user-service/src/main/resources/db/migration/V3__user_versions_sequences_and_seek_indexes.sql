@@ -0,0 +1,16 @@
+-- Additions made after the baseline schema, so databases adopted as V1 receive them too.
+
+-- Optimistic lock column on User; existing rows start at version 0
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Id blocks handed out by IdSequencer, one row per prefix
+CREATE TABLE id_sequences (
+    next_value BIGINT NOT NULL,
+    prefix VARCHAR(16) NOT NULL,
+    PRIMARY KEY (prefix)
+) ENGINE=InnoDB;
+
+-- Keyset pages: the seek predicate compares (created_at, id) and (department, id) pairs
+CREATE INDEX idx_users_created_at_id ON users (created_at, id);
+
+CREATE INDEX idx_users_department_id ON users (department, id);
\ No newline at end of file
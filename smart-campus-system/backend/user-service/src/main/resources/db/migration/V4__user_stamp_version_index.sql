@@ -0,0 +1,5 @@
+-- List ETags also sum the rows' versions. Carrying version in the role index keeps every stamp
+-- query answerable from the index alone, as idx_users_role_active_updated_at did before.
+CREATE INDEX idx_users_role_active_updated_at_version ON users (role, is_active, updated_at, version);
+
+DROP INDEX idx_users_role_active_updated_at ON users;
\ No newline at end of file